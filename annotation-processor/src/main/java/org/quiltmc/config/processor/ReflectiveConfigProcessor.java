@@ -0,0 +1,401 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a creator for every {@code ReflectiveConfig} subclass being compiled, which builds the same config as
+ * {@code ReflectiveConfigCreator} does at runtime, but with plain field accesses and method calls.
+ *
+ * <p>Fields that would fail at runtime fail the build instead. Classes whose fields cannot be accessed from generated
+ * code, such as private ones, are reported as a warning and keep being created reflectively.
+ */
+@SupportedAnnotationTypes("*")
+public final class ReflectiveConfigProcessor extends AbstractProcessor {
+	// Kept in sync with org.quiltmc.config.impl.builders.GeneratedConfigCreator, which this module can't depend on
+	private static final String SUFFIX = "_QuiltConfigCreator";
+	private static final String REFLECTIVE_CONFIG = "org.quiltmc.config.api.ReflectiveConfig";
+	private static final String SECTION = "org.quiltmc.config.api.ReflectiveConfig.Section";
+	private static final String TRACKED_VALUE = "org.quiltmc.config.api.values.TrackedValue";
+	private static final String PROCESSOR = "org.quiltmc.config.api.annotations.Processor";
+	private static final String CONFIG_BUILDER = "org.quiltmc.config.api.Config.Builder";
+	private static final String SECTION_BUILDER = "org.quiltmc.config.api.Config.SectionBuilder";
+	private static final String VALUE_BUILDER = "org.quiltmc.config.api.values.TrackedValue.Builder";
+	private static final String ANNOTATION_PROCESSORS = "org.quiltmc.config.impl.ConfigFieldAnnotationProcessors";
+
+	private Elements elements;
+	private Types types;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+		this.elements = this.processingEnv.getElementUtils();
+		this.types = this.processingEnv.getTypeUtils();
+
+		// Nothing to do for code that doesn't use quilt-config
+		if (this.elements.getTypeElement(REFLECTIVE_CONFIG) == null) {
+			return false;
+		}
+
+		for (TypeElement type : ElementFilter.typesIn(round.getRootElements())) {
+			this.visit(type);
+		}
+
+		return false;
+	}
+
+	private void visit(TypeElement type) {
+		if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT) && this.isSubtype(type.asType(), REFLECTIVE_CONFIG)) {
+			this.generate(type);
+		}
+
+		for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+			this.visit(nested);
+		}
+	}
+
+	private void generate(TypeElement type) {
+		PackageElement pkg = this.elements.getPackageOf(type);
+		String binaryName = this.elements.getBinaryName(type).toString();
+		String simpleName = pkg.isUnnamed() ? binaryName : binaryName.substring(pkg.getQualifiedName().length() + 1);
+		// Doubling keeps nested classes apart from top-level classes with the same name
+		String generatedName = simpleName.replace("$", "$$") + SUFFIX;
+		String typeName = type.getQualifiedName().toString();
+		StringBuilder out = new StringBuilder();
+
+		try {
+			this.checkInstantiable(type, pkg);
+
+			if (!pkg.isUnnamed()) {
+				out.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+			}
+
+			out.append("public final class ").append(generatedName).append(" implements org.quiltmc.config.impl.builders.GeneratedConfigCreator<").append(typeName).append("> {\n");
+			out.append("\t@Override\n");
+			out.append("\tpublic ").append(typeName).append(" instantiate() {\n");
+			out.append("\t\treturn new ").append(typeName).append("();\n");
+			out.append("\t}\n\n");
+			out.append("\t@Override\n");
+			out.append("\t@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+			out.append("\tpublic void create(org.quiltmc.config.impl.builders.ReflectiveConfigCreator<").append(typeName).append("> creator, ")
+					.append(CONFIG_BUILDER).append(" builder, ").append(typeName).append(" instance) {\n");
+
+			this.applyAnnotations(out, 2, this.elements.getAllAnnotationMirrors(type), "builder", pkg);
+			this.createFields(out, 2, type, "instance", "builder", pkg);
+
+			String processor = this.processorMethod(type, type, CONFIG_BUILDER);
+
+			if (processor != null) {
+				out.append("\t\tinstance.").append(processor).append("(builder);\n");
+			}
+
+			out.append("\t}\n");
+			out.append("}\n");
+		} catch (Skip e) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Config class '" + typeName + "' will be created reflectively: " + e.getMessage(), e.element);
+
+			return;
+		} catch (Invalid e) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+
+			return;
+		}
+
+		String qualifiedName = pkg.isUnnamed() ? generatedName : pkg.getQualifiedName() + "." + generatedName;
+
+		try {
+			JavaFileObject file = this.processingEnv.getFiler().createSourceFile(qualifiedName, type);
+
+			try (Writer writer = file.openWriter()) {
+				writer.write(out.toString());
+			}
+		} catch (IOException e) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write config creator '" + qualifiedName + "': " + e.getMessage(), type);
+		}
+	}
+
+	private void createFields(StringBuilder out, int depth, TypeElement owner, String instance, String builder, PackageElement pkg) throws Skip, Invalid {
+		for (VariableElement field : ElementFilter.fieldsIn(owner.getEnclosedElements())) {
+			Set<Modifier> modifiers = field.getModifiers();
+
+			if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+				continue;
+			}
+
+			if (!modifiers.contains(Modifier.FINAL)) {
+				throw new Invalid("Config field '" + owner.getQualifiedName() + '#' + field.getSimpleName() + "' is not final", field);
+			}
+
+			if (!this.isAccessible(field, pkg)) {
+				throw new Skip("field '" + field.getSimpleName() + "' is not accessible", field);
+			}
+
+			String name = field.getSimpleName().toString();
+			String value = instance + '.' + name;
+			String next = "b" + depth;
+			TypeMirror fieldType = this.types.erasure(field.asType());
+			String processor;
+
+			if (this.isSubtype(fieldType, TRACKED_VALUE)) {
+				indent(out, depth).append("creator.createValue(").append(builder).append(", ").append(value).append(", \"").append(name).append("\", ").append(next).append(" -> {\n");
+				this.applyAnnotations(out, depth + 1, field.getAnnotationMirrors(), next, pkg);
+
+				if ((processor = this.processorMethod(field, owner, VALUE_BUILDER)) != null) {
+					indent(out, depth + 1).append(instance).append('.').append(processor).append("((").append(VALUE_BUILDER).append(") ").append(next).append(");\n");
+				}
+
+				indent(out, depth).append("});\n");
+			} else if (this.isSubtype(fieldType, SECTION)) {
+				TypeElement section = (TypeElement) this.types.asElement(fieldType);
+
+				if (!this.isAccessible(section, pkg)) {
+					throw new Skip("section class '" + section.getQualifiedName() + "' is not accessible", field);
+				}
+
+				indent(out, depth).append("creator.createSection(").append(builder).append(", ").append(value).append(", ").append(fieldType).append(".class, \"").append(name).append("\", ").append(next).append(" -> {\n");
+				this.applyAnnotations(out, depth + 1, field.getAnnotationMirrors(), next, pkg);
+
+				if ((processor = this.processorMethod(field, owner, SECTION_BUILDER)) != null) {
+					indent(out, depth + 1).append(instance).append('.').append(processor).append('(').append(next).append(");\n");
+				}
+
+				indent(out, depth).append("}, ").append(next).append(" -> {\n");
+				this.createFields(out, depth + 1, section, value, next, pkg);
+				indent(out, depth).append("});\n");
+			} else if (this.isSubtype(this.type(TRACKED_VALUE), fieldType) || this.isSubtype(this.type(SECTION), fieldType)) {
+				throw new Skip("field '" + name + "' may hold either a value or a section", field);
+			} else {
+				throw new Invalid("Config field '" + owner.getQualifiedName() + '#' + name + "' is not a valid config value: it must be a TrackedValue or a ReflectiveConfig.Section", field);
+			}
+		}
+	}
+
+	private void applyAnnotations(StringBuilder out, int depth, List<? extends AnnotationMirror> annotations, String builder, PackageElement pkg) throws Skip {
+		for (AnnotationMirror annotation : annotations) {
+			TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+			Retention retention = type.getAnnotation(Retention.class);
+
+			// Reflection only sees runtime annotations, and none of the JDK's have config processors
+			if (retention == null || retention.value() != RetentionPolicy.RUNTIME || type.getQualifiedName().toString().startsWith("java.")) {
+				continue;
+			}
+
+			indent(out, depth).append(ANNOTATION_PROCESSORS).append(".applyAnnotationProcessors(").append(this.annotation(annotation, pkg)).append(", ").append(builder).append(");\n");
+		}
+	}
+
+	/**
+	 * @return an expression creating an instance of the given annotation
+	 */
+	private String annotation(AnnotationMirror annotation, PackageElement pkg) throws Skip {
+		TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+
+		if (!this.isAccessible(type, pkg)) {
+			throw new Skip("annotation '" + type.getQualifiedName() + "' is not accessible", type);
+		}
+
+		Map<? extends ExecutableElement, ? extends AnnotationValue> values = this.elements.getElementValuesWithDefaults(annotation);
+		StringBuilder out = new StringBuilder("new ").append(type.getQualifiedName()).append("() {");
+
+		for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			out.append(" public ").append(method.getReturnType()).append(' ').append(method.getSimpleName()).append("() { return ")
+					.append(this.value(values.get(method), method.getReturnType(), pkg)).append("; }");
+		}
+
+		return out.append(" public java.lang.Class<? extends java.lang.annotation.Annotation> annotationType() { return ")
+				.append(type.getQualifiedName()).append(".class; } }").toString();
+	}
+
+	private String value(AnnotationValue annotationValue, TypeMirror type, PackageElement pkg) throws Skip {
+		Object value = annotationValue.getValue();
+
+		if (value instanceof List) {
+			TypeMirror component = ((ArrayType) type).getComponentType();
+			StringBuilder out = new StringBuilder("new ").append(this.types.erasure(component)).append("[] {");
+			boolean first = true;
+
+			for (Object element : (List<?>) value) {
+				out.append(first ? "" : ", ").append(this.value((AnnotationValue) element, component, pkg));
+				first = false;
+			}
+
+			return out.append('}').toString();
+		} else if (value instanceof TypeMirror) {
+			return this.types.erasure((TypeMirror) value) + ".class";
+		} else if (value instanceof VariableElement) {
+			VariableElement constant = (VariableElement) value;
+
+			return ((TypeElement) constant.getEnclosingElement()).getQualifiedName() + "." + constant.getSimpleName();
+		} else if (value instanceof AnnotationMirror) {
+			return this.annotation((AnnotationMirror) value, pkg);
+		} else {
+			return this.elements.getConstantExpression(value);
+		}
+	}
+
+	/**
+	 * @return the name of the method referenced by the {@code Processor} annotation of the given element, if any
+	 */
+	private String processorMethod(Element annotated, TypeElement owner, String builderType) throws Invalid {
+		for (AnnotationMirror annotation : annotated.getAnnotationMirrors()) {
+			if (!((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(PROCESSOR)) {
+				continue;
+			}
+
+			String name = null;
+
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+				if (entry.getKey().getSimpleName().contentEquals("value")) {
+					name = (String) entry.getValue().getValue();
+				}
+			}
+
+			// Same lookup as Class#getMethod
+			for (ExecutableElement method : ElementFilter.methodsIn(this.elements.getAllMembers(owner))) {
+				if (method.getSimpleName().contentEquals(name) && method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().size() == 1
+						&& this.types.isSameType(this.types.erasure(method.getParameters().get(0).asType()), this.type(builderType))) {
+					return name;
+				}
+			}
+
+			throw new Invalid("Processor method '" + name + "(" + builderType + ")' not found in '" + owner.getQualifiedName() + "'", annotated);
+		}
+
+		return null;
+	}
+
+	private void checkInstantiable(TypeElement type, PackageElement pkg) throws Skip {
+		if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+			throw new Skip("it is an inner class", type);
+		}
+
+		if (!type.getTypeParameters().isEmpty()) {
+			throw new Skip("it is generic", type);
+		}
+
+		if (!this.isAccessible(type, pkg)) {
+			throw new Skip("it is not accessible", type);
+		}
+
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty()) {
+				if (!this.isAccessible(constructor, pkg)) {
+					throw new Skip("its constructor is not accessible", constructor);
+				}
+
+				return;
+			}
+		}
+
+		throw new Skip("it has no constructor without parameters", type);
+	}
+
+	/**
+	 * @return whether generated code in the given package can access the element
+	 */
+	private boolean isAccessible(Element element, PackageElement pkg) {
+		for (Element e = element; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+			Set<Modifier> modifiers = e.getModifiers();
+
+			if (modifiers.contains(Modifier.PRIVATE) || !modifiers.contains(Modifier.PUBLIC) && !this.elements.getPackageOf(e).equals(pkg)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private TypeMirror type(String name) {
+		return this.types.erasure(this.elements.getTypeElement(name).asType());
+	}
+
+	private boolean isSubtype(TypeMirror type, String name) {
+		return type.getKind() == TypeKind.DECLARED && this.types.isSubtype(this.types.erasure(type), this.type(name));
+	}
+
+	private boolean isSubtype(TypeMirror type, TypeMirror supertype) {
+		return supertype.getKind() == TypeKind.DECLARED && this.types.isSubtype(type, supertype);
+	}
+
+	private static StringBuilder indent(StringBuilder out, int depth) {
+		for (int i = 0; i < depth; i++) {
+			out.append('\t');
+		}
+
+		return out;
+	}
+
+	/**
+	 * Thrown for classes that are valid, but can't be created by generated code.
+	 */
+	private static final class Skip extends Exception {
+		private static final long serialVersionUID = 1L;
+		private final transient Element element;
+
+		private Skip(String message, Element element) {
+			super(message);
+			this.element = element;
+		}
+	}
+
+	/**
+	 * Thrown for classes that would fail to be created at runtime.
+	 */
+	private static final class Invalid extends Exception {
+		private static final long serialVersionUID = 1L;
+		private final transient Element element;
+
+		private Invalid(String message, Element element) {
+			super(message);
+			this.element = element;
+		}
+	}
+}
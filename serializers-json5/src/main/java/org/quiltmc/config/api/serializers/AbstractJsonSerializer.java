@@ -21,8 +21,10 @@
 import org.quiltmc.config.api.MarshallingUtils;
 import org.quiltmc.config.api.annotations.Comment;
 import org.quiltmc.config.api.exceptions.ConfigParseException;
+import org.quiltmc.config.api.exceptions.TrackedValueException;
 import org.quiltmc.config.api.values.*;
 import org.quiltmc.config.impl.tree.TrackedValueImpl;
+import org.quiltmc.config.impl.util.SerializedKeyIndex;
 import org.quiltmc.config.impl.util.SerializerUtils;
 import org.quiltmc.parsers.json.JsonReader;
 import org.quiltmc.parsers.json.JsonToken;
@@ -86,17 +88,17 @@ private void serialize(JsonWriter writer, Object value) throws IOException {
 		}
 	}
 
-	private void serialize(JsonWriter writer, ValueTreeNode node) throws IOException {
+	private void serialize(Config config, JsonWriter writer, ValueTreeNode node) throws IOException {
 		for (String comment : node.metadata(Comment.TYPE)) {
 			writer.comment(comment);
 		}
 
 		if (node instanceof ValueTreeNode.Section) {
-			writer.name(SerializerUtils.getSerializedName(node));
+			writer.name(SerializerUtils.getSerializedKey(config, node).getLastComponent());
 			writer.beginObject();
 
 			for (ValueTreeNode child : ((ValueTreeNode.Section) node)) {
-				serialize(writer, child);
+				serialize(config, writer, child);
 			}
 
 			writer.endObject();
@@ -118,7 +120,7 @@ private void serialize(JsonWriter writer, ValueTreeNode node) throws IOException
 				writer.comment("default: " + defaultComment.get());
 			}
 
-			String name = SerializerUtils.getSerializedName(trackedValue);
+			String name = SerializerUtils.getSerializedKey(config, trackedValue).getLastComponent();
 			writer.name(name);
 
 			serialize(writer, trackedValue.getRealValue());
@@ -133,36 +135,172 @@ public void serialize(Config config, JsonWriter writer) throws IOException {
 		writer.beginObject();
 
 		for (ValueTreeNode node : config.nodes()) {
-			this.serialize(writer, node);
+			this.serialize(config, writer, node);
 		}
 
 		writer.endObject();
 		writer.close();
 	}
 
-	@SuppressWarnings({"unchecked", "rawtypes"})
+	/**
+	 * Reads a document into the values of a config. Entries that don't match the type of their value are skipped
+	 * without affecting the others.
+	 *
+	 * @throws ConfigParseException if the document is malformed
+	 */
 	public void deserialize(Config config, JsonReader reader) {
 		try {
-			Map<String, Object> values = parseObject(reader);
-
-			for (TrackedValue<?> value : config.values()) {
-				Map<String, Object> m = values;
-				List<ValueKey> keyOptions = SerializerUtils.getPossibleKeys(config, value);
-
-				for (ValueKey key : keyOptions) {
-					for (int i = 0; i < key.length(); i++) {
-						String name = key.getKeyComponent(i);
-						if (m.containsKey(name) && i != key.length() - 1) {
-							m = (Map<String, Object>) m.get(name);
-						} else if (m.containsKey(name)) {
-							((TrackedValueImpl) value).setValue(MarshallingUtils.coerce(m.get(name), value.getDefaultValue(), (Map<String, ?> map, MarshallingUtils.MapEntryConsumer entryConsumer) ->
-								map.forEach(entryConsumer::put)), false);
-						}
-					}
+			deserialize(reader, SerializerUtils.getKeyIndex(config), new SerializedKeyIndex.Precedence());
+		} catch (IOException | IllegalStateException e) {
+			throw new ConfigParseException("Failed to read config '" + config.family() + ':' + config.id() + "'", e);
+		}
+	}
+
+	/**
+	 * Reads the entries of an object straight into the values they belong to, skipping over entries that aren't part
+	 * of the config without building them in memory.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static void deserialize(JsonReader reader, SerializedKeyIndex index, SerializedKeyIndex.Precedence precedence) throws IOException {
+		reader.beginObject();
+
+		while (reader.hasNext() && reader.peek() == JsonToken.NAME) {
+			SerializedKeyIndex child = index.child(reader.nextName());
+			TrackedValue<?> value = child == null ? null : child.value();
+
+			if (value != null && precedence.shouldRead(child)) {
+				try {
+					((TrackedValueImpl) value).setValue(readValue(reader, value.getDefaultValue()), false);
+				} catch (TypeMismatchException | TrackedValueException e) {
+					// The entry has been read in full either way, so the rest of the document is unaffected
+					System.out.println("(Quilt Config) Skipped the value of '" + value.key() + "': " + e.getMessage());
+				}
+			} else if (value == null && child != null && reader.peek() == JsonToken.BEGIN_OBJECT) {
+				deserialize(reader, child, precedence);
+			} else {
+				// Not a key of this config, or overridden by another key of the same value
+				reader.skipValue();
+			}
+		}
+
+		reader.endObject();
+	}
+
+	/**
+	 * Reads a value of the same type as {@code to}, building value lists and maps directly from the document.
+	 *
+	 * @throws TypeMismatchException if the value, or any element of it, has the wrong type, once the whole value has
+	 *                               been read
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Object readValue(JsonReader reader, Object to) throws IOException, TypeMismatchException {
+		if (to instanceof ValueList) {
+			if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+				throw mismatch(reader, "a list");
+			}
+
+			Object defaultValue = ((ValueList<?>) to).getDefaultValue();
+			List<Object> values = new ArrayList<>();
+			TypeMismatchException mismatch = null;
+
+			reader.beginArray();
+
+			while (reader.hasNext() && reader.peek() != JsonToken.END_ARRAY) {
+				try {
+					values.add(readValue(reader, defaultValue));
+				} catch (TypeMismatchException e) {
+					mismatch = e;
+				}
+			}
+
+			reader.endArray();
+
+			if (mismatch != null) {
+				throw mismatch;
+			}
+
+			return ((ValueList<?>) to).isCopyOnWrite()
+					? ValueList.createCopyOnWrite(defaultValue, values.toArray())
+					: ValueList.create(defaultValue, values.toArray());
+		} else if (to instanceof ValueMap) {
+			if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+				throw mismatch(reader, "a map");
+			}
+
+			Object defaultValue = ((ValueMap<?>) to).getDefaultValue();
+			ValueMap.Builder builder = ValueMap.builder(defaultValue);
+			TypeMismatchException mismatch = null;
+
+			if (((ValueMap<?>) to).isCopyOnWrite()) {
+				builder.copyOnWrite();
+			}
+
+			reader.beginObject();
+
+			while (reader.hasNext() && reader.peek() == JsonToken.NAME) {
+				String key = reader.nextName();
+
+				try {
+					builder.put(key, readValue(reader, defaultValue));
+				} catch (TypeMismatchException e) {
+					mismatch = e;
 				}
 			}
-		} catch (Exception e) {
-			e.printStackTrace();
+
+			reader.endObject();
+
+			if (mismatch != null) {
+				throw mismatch;
+			}
+
+			return builder.build();
+		} else if (to instanceof ConfigSerializableObject) {
+			return ((ConfigSerializableObject) to).convertFrom(readValue(reader, ((ConfigSerializableObject<?>) to).getRepresentation()));
+		} else {
+			Object element = parseElement(reader);
+
+			if (!matches(element, to)) {
+				throw new TypeMismatchException("Expected a value like '" + to + "' but found '" + element + "'");
+			}
+
+			try {
+				return MarshallingUtils.coerce(element, to, (Map<String, ?> map, MarshallingUtils.MapEntryConsumer entryConsumer) ->
+					map.forEach(entryConsumer::put));
+			} catch (ConfigParseException e) {
+				// Such as an unknown enum constant
+				throw new TypeMismatchException(e.getMessage());
+			}
+		}
+	}
+
+	private static boolean matches(Object element, Object to) {
+		if (to instanceof Number) {
+			return element instanceof Number;
+		} else if (to instanceof String || to.getClass().isEnum()) {
+			return element instanceof String;
+		} else if (to instanceof Boolean) {
+			return element instanceof Boolean;
+		} else {
+			return true;
+		}
+	}
+
+	private static TypeMismatchException mismatch(JsonReader reader, String expected) throws IOException {
+		JsonToken found = reader.peek();
+
+		reader.skipValue();
+
+		return new TypeMismatchException("Expected " + expected + " but found " + found);
+	}
+
+	/**
+	 * Thrown once an entry that doesn't match the type of its value has been read in full.
+	 */
+	private static final class TypeMismatchException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		private TypeMismatchException(String message) {
+			super(message);
 		}
 	}
 
@@ -19,6 +19,7 @@
 import com.electronwill.nightconfig.core.CommentedConfig;
 import com.electronwill.nightconfig.core.InMemoryCommentedFormat;
 import com.electronwill.nightconfig.core.UnmodifiableCommentedConfig;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.io.ConfigParser;
 import com.electronwill.nightconfig.core.io.ConfigWriter;
 import com.electronwill.nightconfig.toml.TomlParser;
@@ -34,6 +35,7 @@
 import org.quiltmc.config.api.values.ValueList;
 import org.quiltmc.config.api.values.ValueMap;
 import org.quiltmc.config.api.values.ValueTreeNode;
+import org.quiltmc.config.impl.util.SerializedKeyIndex;
 import org.quiltmc.config.impl.util.SerializerUtils;
 
 import java.io.InputStream;
@@ -70,21 +72,33 @@ public void serialize(Config config, OutputStream to) {
 		this.writer.write(write(config, createCommentedConfig(), config.nodes()), to);
 	}
 
-	@SuppressWarnings({"unchecked", "rawtypes"})
 	@Override
 	public void deserialize(Config config, InputStream from) {
-		CommentedConfig read = this.parser.parse(from);
+		deserialize(this.parser.parse(from), SerializerUtils.getKeyIndex(config), new SerializedKeyIndex.Precedence());
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static void deserialize(UnmodifiableConfig read, SerializedKeyIndex index, SerializedKeyIndex.Precedence precedence) {
+		for (UnmodifiableConfig.Entry entry : read.entrySet()) {
+			SerializedKeyIndex child = index.child(entry.getKey());
 
-		for (TrackedValue<?> trackedValue : config.values()) {
-			List<ValueKey> keyOptions = SerializerUtils.getPossibleKeys(config, trackedValue);
+			if (child == null) {
+				// Not a key of this config
+				continue;
+			}
 
-			for (ValueKey key : keyOptions) {
-				String stringKey = key.toString();
+			TrackedValue<?> trackedValue = child.value();
+			Object value = entry.getValue();
 
-				if (read.contains(stringKey)) {
-					((TrackedValue) trackedValue).setValue(MarshallingUtils.coerce(read.get(stringKey), trackedValue.getDefaultValue(), (CommentedConfig c, MarshallingUtils.MapEntryConsumer entryConsumer) ->
-						c.entrySet().forEach(e -> entryConsumer.put(e.getKey(), e.getValue()))), false);
+			if (trackedValue != null) {
+				if (!precedence.shouldRead(child)) {
+					continue;
 				}
+
+				((TrackedValue) trackedValue).setValue(MarshallingUtils.coerce(value, trackedValue.getDefaultValue(), (CommentedConfig c, MarshallingUtils.MapEntryConsumer entryConsumer) ->
+					c.entrySet().forEach(e -> entryConsumer.put(e.getKey(), e.getValue()))), false);
+			} else if (value instanceof UnmodifiableConfig) {
+				deserialize((UnmodifiableConfig) value, child, precedence);
 			}
 		}
 	}
@@ -30,6 +30,7 @@
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Set;
 import java.util.function.Consumer;
 
 @ApiStatus.NonExtendable
@@ -73,6 +74,38 @@ public interface Config extends MetadataContainer {
 	 */
 	void save();
 
+	/**
+	 * Changes any number of this config's values as a single unit.
+	 *
+	 * <p>The changes registered with the passed {@link Transaction} are applied after {@code changes} returns. All new
+	 * values are checked against their constraints first, and if any of them fails, a
+	 * {@link org.quiltmc.config.api.exceptions.TrackedValueException} listing every failure is thrown and no value is
+	 * changed. Otherwise, all values are changed together, the config is saved once, and its {@link UpdateCallback}s
+	 * are invoked once with the keys of every value that changed, followed by the callbacks of the changed values.
+	 *
+	 * @param changes a function registering changes to values of this config
+	 */
+	void transaction(Consumer<Transaction> changes);
+
+	/**
+	 * @return a number that increases whenever any value of this config effectively changes
+	 * @see TrackedValue#version()
+	 */
+	long version();
+
+	/**
+	 * Captures the current value of every value of this config.
+	 *
+	 * <p>A snapshot never changes and is never taken in the middle of a {@link #transaction(Consumer)} or a reload, so
+	 * values read from the same snapshot are always consistent with each other. {@link ValueList}s and
+	 * {@link ValueMap}s are captured as unmodifiable copies. Snapshots are reused until a value changes, so taking
+	 * one repeatedly is cheap.
+	 *
+	 * @return an immutable view of this config's values
+	 * @throws IllegalStateException if this config is being reloaded or changed by a transaction on the current thread
+	 */
+	Snapshot snapshot();
+
 	/**
 	 * Returns all values held by this config file.
 	 *
@@ -397,8 +430,57 @@ static <C extends WrappedConfig> C create(ConfigEnvironment environment, String
 		return create(environment, family, id, Paths.get(""), builder -> {}, configCreatorClass, builder -> {});
 	}
 
+	/**
+	 * Listens to changes of any value of a config.
+	 *
+	 * <p>Callbacks are invoked on the thread that made the change, unless the config's environment has a
+	 * {@link org.quiltmc.config.implementor_api.CallbackDispatcher}. In that case, changes of different values may be
+	 * delivered on several threads at once.
+	 */
 	interface UpdateCallback {
 		void onUpdate(Config config);
+
+		/**
+		 * Called with the keys of all values that changed together, for instance in a {@link #transaction(Consumer)}.
+		 * A single changed value is reported with a set containing only its key.
+		 *
+		 * <p>Delegates to {@link #onUpdate(Config)} by default.
+		 *
+		 * @param config the config that was updated
+		 * @param changedKeys the keys of the values that changed
+		 */
+		default void onUpdate(Config config, Set<ValueKey> changedKeys) {
+			this.onUpdate(config);
+		}
+	}
+
+	@ApiStatus.NonExtendable
+	interface Transaction {
+		/**
+		 * Registers a new value to be set when this transaction is committed. Setting the same value again replaces the
+		 * previous change.
+		 *
+		 * @param value a value belonging to the config this transaction was started on
+		 * @param newValue the new value
+		 * @return this
+		 */
+		<T> Transaction set(TrackedValue<T> value, T newValue);
+	}
+
+	@ApiStatus.NonExtendable
+	interface Snapshot {
+		/**
+		 * @return the {@link Config#version()} this snapshot was taken at; snapshots with the same version hold the same
+		 * values
+		 */
+		long version();
+
+		/**
+		 * @param value a value belonging to the config this snapshot was taken of
+		 * @return the value it had when this snapshot was taken, or its override if it was being overridden
+		 * @throws IllegalArgumentException if the value doesn't belong to the config
+		 */
+		<T> T get(TrackedValue<T> value);
 	}
 
 	interface Creator {
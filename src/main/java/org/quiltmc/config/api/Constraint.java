@@ -35,25 +35,37 @@
 	 */
 	Optional<String> test(T value);
 
+	/**
+	 * Tests a value without producing an error message, which is how values are checked whenever they are set.
+	 *
+	 * <p>Constraints should override this if they can do so without allocating.
+	 *
+	 * @param value the value to test against this {@link Constraint}
+	 * @return whether the value passes, which must match the result of {@link #test}
+	 */
+	default boolean isValid(T value) {
+		return !this.test(value).isPresent();
+	}
+
 	/**
 	 * @return a clean and concise representation of this {@link Constraint}
 	 */
 	String getRepresentation();
 
 	static Constraint<Integer> range(int from, int to) {
-		return new Range<>(from, to, Integer::compareTo);
+		return new Range<>(from, to, Range.INTEGERS);
 	}
 
 	static Constraint<Long> range(long from, long to) {
-		return new Range<>(from, to, Long::compareTo);
+		return new Range<>(from, to, Range.LONGS);
 	}
 
 	static Constraint<Float> range(float from, float to) {
-		return new Range<>(from, to, Float::compareTo);
+		return new Range<>(from, to, Range.FLOATS);
 	}
 
 	static Constraint<Double> range(double from, double to) {
-		return new Range<>(from, to, Double::compareTo);
+		return new Range<>(from, to, Range.DOUBLES);
 	}
 
 	/**
@@ -76,6 +88,11 @@ public Optional<String> test(String value) {
 				}
 			}
 
+			@Override
+			public boolean isValid(String value) {
+				return this.pattern.matcher(value).matches();
+			}
+
 			@Override
 			public String getRepresentation() {
 				return "matches r'" + regex + "'";
@@ -84,6 +101,11 @@ public String getRepresentation() {
 	}
 
 	final class Range<T> implements Constraint<T> {
+		private static final Comparator<Integer> INTEGERS = Integer::compareTo;
+		private static final Comparator<Long> LONGS = Long::compareTo;
+		private static final Comparator<Float> FLOATS = Float::compareTo;
+		private static final Comparator<Double> DOUBLES = Double::compareTo;
+
 		private final T min, max;
 		private final Comparator<T> comparator;
 
@@ -103,16 +125,75 @@ public T max() {
 
 		@Override
 		public Optional<String> test(T value) {
-			int minTest = this.comparator.compare(this.min, value);
-			int maxTest = this.comparator.compare(this.max, value);
-
-			if (minTest <= 0 && maxTest >= 0) {
+			if (this.isValid(value)) {
 				return Optional.empty();
 			} else {
 				return Optional.of(String.format("Value '%s' outside of range [%s, %s]", value, this.min, this.max));
 			}
 		}
 
+		@Override
+		public boolean isValid(T value) {
+			return this.comparator.compare(this.min, value) <= 0 && this.comparator.compare(this.max, value) >= 0;
+		}
+
+		/**
+		 * Tests a value without boxing it if this range was created by {@link Constraint#range(int, int)}.
+		 *
+		 * @return whether the value is within this range
+		 */
+		@SuppressWarnings("unchecked")
+		public boolean contains(int value) {
+			if (this.comparator == INTEGERS) {
+				return (Integer) this.min <= value && value <= (Integer) this.max;
+			}
+
+			return this.isValid((T) Integer.valueOf(value));
+		}
+
+		/**
+		 * Tests a value without boxing it if this range was created by {@link Constraint#range(long, long)}.
+		 *
+		 * @return whether the value is within this range
+		 */
+		@SuppressWarnings("unchecked")
+		public boolean contains(long value) {
+			if (this.comparator == LONGS) {
+				return (Long) this.min <= value && value <= (Long) this.max;
+			}
+
+			return this.isValid((T) Long.valueOf(value));
+		}
+
+		/**
+		 * Tests a value without boxing it if this range was created by {@link Constraint#range(float, float)}.
+		 *
+		 * @return whether the value is within this range
+		 */
+		@SuppressWarnings("unchecked")
+		public boolean contains(float value) {
+			if (this.comparator == FLOATS) {
+				// Same ordering as Float#compareTo, including NaN and signed zeroes
+				return Float.compare((Float) this.min, value) <= 0 && Float.compare((Float) this.max, value) >= 0;
+			}
+
+			return this.isValid((T) Float.valueOf(value));
+		}
+
+		/**
+		 * Tests a value without boxing it if this range was created by {@link Constraint#range(double, double)}.
+		 *
+		 * @return whether the value is within this range
+		 */
+		@SuppressWarnings("unchecked")
+		public boolean contains(double value) {
+			if (this.comparator == DOUBLES) {
+				return Double.compare((Double) this.min, value) <= 0 && Double.compare((Double) this.max, value) >= 0;
+			}
+
+			return this.isValid((T) Double.valueOf(value));
+		}
+
 		@Override
 		public String getRepresentation() {
 			return "range: " + this.min + " - " + this.max;
@@ -128,13 +209,19 @@ public All(Constraint<T> constraint) {
 
 		@Override
 		public Optional<String> test(CompoundConfigValue<T> value) {
-			StringBuilder builder = new StringBuilder();
+			StringBuilder builder = null;
 
 			for (T t : value.values()) {
+				if (this.constraint.isValid(t)) {
+					continue;
+				}
+
 				Optional<String> error = this.constraint.test(t);
 
 				if (error.isPresent()) {
-					if (builder.length() != 0) {
+					if (builder == null) {
+						builder = new StringBuilder();
+					} else {
 						builder.append(", ");
 					}
 
@@ -142,7 +229,18 @@ public Optional<String> test(CompoundConfigValue<T> value) {
 				}
 			}
 
-			return builder.length() == 0 ? Optional.empty() : Optional.of(builder.toString());
+			return builder == null ? Optional.empty() : Optional.of(builder.toString());
+		}
+
+		@Override
+		public boolean isValid(CompoundConfigValue<T> value) {
+			for (T t : value.values()) {
+				if (!this.constraint.isValid(t)) {
+					return false;
+				}
+			}
+
+			return true;
 		}
 
 		@Override
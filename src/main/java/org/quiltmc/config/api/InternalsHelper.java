@@ -30,4 +30,8 @@ private InternalsHelper() {
 	public static <T extends ReflectiveConfig> void setWrappedConfig(T wrapped, Config config) {
 		wrapped.setWrappedConfig(config);
 	}
+
+	public static Config getWrappedConfig(ReflectiveConfig wrapped) {
+		return wrapped.getWrappedConfig();
+	}
 }
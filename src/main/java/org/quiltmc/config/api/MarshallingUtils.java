@@ -101,6 +101,10 @@ private MapCoercer(ValueMapCreator<M> creator) {
 		public ValueMap<?> apply(M object, ValueMap<?> defaultValue) {
 			ValueMap.Builder builder = ValueMap.builder(defaultValue.getDefaultValue());
 
+			if (defaultValue.isCopyOnWrite()) {
+				builder.copyOnWrite();
+			}
+
 			this.creator.create(object, (key, value) ->
 					builder.put(key, coerce(value, defaultValue.getDefaultValue(), this.creator)));
 
@@ -123,7 +127,9 @@ public ValueList<?> apply(List<?> list, ValueList<?> defaultValue) {
 				values[i] = coerce(values[i], defaultValue.getDefaultValue(), this.valueMapCreator, this);
 			}
 
-			return ValueList.create(defaultValue.getDefaultValue(), values);
+			return defaultValue.isCopyOnWrite()
+					? ValueList.createCopyOnWrite(defaultValue.getDefaultValue(), values)
+					: ValueList.create(defaultValue.getDefaultValue(), values);
 		}
 	}
 }
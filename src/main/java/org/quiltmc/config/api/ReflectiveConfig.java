@@ -17,6 +17,11 @@
 package org.quiltmc.config.api;
 
 import org.quiltmc.config.api.metadata.MetadataType;
+import org.quiltmc.config.api.values.BooleanTrackedValue;
+import org.quiltmc.config.api.values.DoubleTrackedValue;
+import org.quiltmc.config.api.values.FloatTrackedValue;
+import org.quiltmc.config.api.values.IntTrackedValue;
+import org.quiltmc.config.api.values.LongTrackedValue;
 import org.quiltmc.config.api.values.TrackedValue;
 import org.quiltmc.config.api.values.ValueList;
 import org.quiltmc.config.api.values.ValueMap;
@@ -29,6 +34,7 @@
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public abstract class ReflectiveConfig implements Config {
 	private Config wrapped;
@@ -73,6 +79,21 @@ public final void save() {
 		this.wrapped.save();
 	}
 
+	@Override
+	public final void transaction(Consumer<Transaction> changes) {
+		this.wrapped.transaction(changes);
+	}
+
+	@Override
+	public final long version() {
+		return this.wrapped.version();
+	}
+
+	@Override
+	public final Snapshot snapshot() {
+		return this.wrapped.snapshot();
+	}
+
 	@Override
 	public final Iterable<TrackedValue<?>> values() {
 		return this.wrapped.values();
@@ -97,10 +118,34 @@ final void setWrappedConfig(Config config) {
 		this.wrapped = config;
 	}
 
+	final Config getWrappedConfig() {
+		return this.wrapped;
+	}
+
 	public final <T> TrackedValue<T> value(T defaultValue) {
 		ConfigUtils.assertValueType(defaultValue);
 
-		return new TrackedValueImpl<>(null, defaultValue, new LinkedHashMap<>(0), new ArrayList<>(0), new ArrayList<>(0));
+		return TrackedValueImpl.create(null, defaultValue, new LinkedHashMap<>(0), new ArrayList<>(0), new ArrayList<>(0));
+	}
+
+	public final IntTrackedValue value(int defaultValue) {
+		return (IntTrackedValue) this.value((Integer) defaultValue);
+	}
+
+	public final LongTrackedValue value(long defaultValue) {
+		return (LongTrackedValue) this.value((Long) defaultValue);
+	}
+
+	public final FloatTrackedValue value(float defaultValue) {
+		return (FloatTrackedValue) this.value((Float) defaultValue);
+	}
+
+	public final DoubleTrackedValue value(double defaultValue) {
+		return (DoubleTrackedValue) this.value((Double) defaultValue);
+	}
+
+	public final BooleanTrackedValue value(boolean defaultValue) {
+		return (BooleanTrackedValue) this.value((Boolean) defaultValue);
 	}
 
 	@SafeVarargs
@@ -116,7 +161,27 @@ public static class Section {
 		public final <T> TrackedValue<T> value(T defaultValue) {
 			ConfigUtils.assertValueType(defaultValue);
 
-			return new TrackedValueImpl<>(null, defaultValue, new LinkedHashMap<>(0), new ArrayList<>(0), new ArrayList<>(0));
+			return TrackedValueImpl.create(null, defaultValue, new LinkedHashMap<>(0), new ArrayList<>(0), new ArrayList<>(0));
+		}
+
+		public final IntTrackedValue value(int defaultValue) {
+			return (IntTrackedValue) this.value((Integer) defaultValue);
+		}
+
+		public final LongTrackedValue value(long defaultValue) {
+			return (LongTrackedValue) this.value((Long) defaultValue);
+		}
+
+		public final FloatTrackedValue value(float defaultValue) {
+			return (FloatTrackedValue) this.value((Float) defaultValue);
+		}
+
+		public final DoubleTrackedValue value(double defaultValue) {
+			return (DoubleTrackedValue) this.value((Double) defaultValue);
+		}
+
+		public final BooleanTrackedValue value(boolean defaultValue) {
+			return (BooleanTrackedValue) this.value((Boolean) defaultValue);
 		}
 
 		@SafeVarargs
@@ -23,6 +23,7 @@
 
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * @deprecated for removal: use {@link ReflectiveConfig} instead.
@@ -71,6 +72,21 @@ public final void save() {
 		this.wrapped.save();
 	}
 
+	@Override
+	public final void transaction(Consumer<Transaction> changes) {
+		this.wrapped.transaction(changes);
+	}
+
+	@Override
+	public final long version() {
+		return this.wrapped.version();
+	}
+
+	@Override
+	public final Snapshot snapshot() {
+		return this.wrapped.snapshot();
+	}
+
 	@Override
 	public final Iterable<TrackedValue<?>> values() {
 		return this.wrapped.values();
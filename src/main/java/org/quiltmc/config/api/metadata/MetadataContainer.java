@@ -30,7 +30,12 @@ public interface MetadataContainer {
 	<M> boolean hasMetadata(MetadataType<M, ?> type);
 
 	/**
-	 * @return a map of all metadata attached to this node
+	 * Collects all metadata attached to this node, including metadata it inherits from its parents.
+	 *
+	 * <p>The map is read-only and built anew on every call, so {@link #metadata(MetadataType)} should be preferred
+	 * to look up single types.
+	 *
+	 * @return an unmodifiable map of all metadata attached to this node
 	 */
 	Map<MetadataType<?, ?>, Object> metadata();
 }
@@ -16,6 +16,7 @@
 
 package org.quiltmc.config.api.metadata;
 
+import org.jetbrains.annotations.ApiStatus;
 import org.quiltmc.config.api.Config;
 import org.quiltmc.config.api.values.ConfigSerializableObject;
 import org.quiltmc.config.api.values.TrackedValue;
@@ -24,6 +25,7 @@
 import org.quiltmc.config.api.values.ValueTreeNode;
 
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -34,6 +36,10 @@
  * <p>See also {@link TrackedValue.Builder#metadata}, {@link Config.Builder#metadata}, and {@link Config.SectionBuilder#metadata}
  */
 public final class MetadataType<T, B extends MetadataType.Builder<T>> {
+	// Indexed by id, only ever replaced as a whole
+	private static volatile MetadataType<?, ?>[] types = new MetadataType<?, ?>[0];
+
+	private final int id;
 	private final Supplier<Optional<T>> defaultValueSupplier;
 	private final Function<Type, Optional<T>> trackedValueDefaultValueSupplier;
 	private final Supplier<B> builderSupplier;
@@ -44,6 +50,31 @@ private MetadataType(Supplier<Optional<T>> defaultValueSupplier, Function<Type,
 		this.trackedValueDefaultValueSupplier = trackedValueDefaultValueSupplier;
 		this.builderSupplier = builderSupplier;
 		this.inherited = inherited;
+		this.id = register(this);
+	}
+
+	private static synchronized int register(MetadataType<?, ?> type) {
+		MetadataType<?, ?>[] types = Arrays.copyOf(MetadataType.types, MetadataType.types.length + 1);
+		types[types.length - 1] = type;
+		MetadataType.types = types;
+
+		return types.length - 1;
+	}
+
+	/**
+	 * @return a small number unique to this type, assigned in order of creation
+	 */
+	@ApiStatus.Internal
+	public int id() {
+		return this.id;
+	}
+
+	/**
+	 * @return the type with the given {@link #id()}
+	 */
+	@ApiStatus.Internal
+	public static MetadataType<?, ?> byId(int id) {
+		return types[id];
 	}
 
 	/**
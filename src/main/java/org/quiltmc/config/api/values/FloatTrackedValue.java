@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.api.values;
+
+import org.jetbrains.annotations.NotNull;
+import org.quiltmc.config.impl.tree.FloatTrackedValueImpl;
+import org.quiltmc.config.impl.values.ValueKeyImpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * A {@link TrackedValue} of a {@code float} that can be read without boxing.
+ *
+ * <p>Writes check range constraints on the raw value, but still box it once, since it is stored and passed to
+ * callbacks as a {@link Float}.
+ */
+public interface FloatTrackedValue extends TrackedValue<Float> {
+	/**
+	 * @return the value this value resolves to, see {@link #value()}
+	 */
+	float getFloat();
+
+	/**
+	 * @param newValue the value to set
+	 * @param serialize whether to serialize this value's backing config file. Should be false only when deserializing
+	 * @return the old value that's been replaced
+	 * @see #setValue(Object, boolean)
+	 */
+	float setFloat(float newValue, boolean serialize);
+
+	/**
+	 * Sets the value and serializes it.
+	 * @param newValue the value to set
+	 * @return the old value that's been replaced
+	 */
+	default float setFloat(float newValue) {
+		return this.setFloat(newValue, true);
+	}
+
+	/**
+	 * @see TrackedValue#create(Object, String, String...)
+	 */
+	static FloatTrackedValue create(float defaultValue, @NotNull String key0, String... keys) {
+		Objects.requireNonNull(key0);
+		return new FloatTrackedValueImpl(new ValueKeyImpl(key0, keys), defaultValue, new LinkedHashMap<>(0), new ArrayList<>(0), new ArrayList<>(0));
+	}
+}
@@ -26,6 +26,7 @@
 import org.quiltmc.config.impl.util.ConfigUtils;
 import org.quiltmc.config.impl.values.ValueKeyImpl;
 
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.Objects;
@@ -34,6 +35,19 @@
 
 /**
  * A value in a config tree.
+ *
+ * <p>Tracked values may be read and set from any thread. A value and its override are published together: every read
+ * observes the complete result of some call to {@link #setValue}, {@link #setOverride} or {@link #removeOverride}, and
+ * a change happens-before any read that returns it. Reads never block. Separate reads are not atomic with respect to
+ * each other, so {@link #value()} followed by {@link #isBeingOverridden()} may observe two different states.
+ *
+ * <p>Callbacks run on the thread that made the change, before the change returns, unless a
+ * {@link org.quiltmc.config.implementor_api.CallbackDispatcher} has been set with
+ * {@link org.quiltmc.config.implementor_api.ConfigEnvironment#setCallbackDispatcher}. Then they run later on the
+ * dispatcher's executor, one at a time and in the order the changes were made for each value, and a coalescing
+ * dispatcher may skip changes that were replaced before being delivered.
+ *
+ * <p>The contents of mutable values, such as {@link ValueList} and {@link ValueMap}, are not made thread-safe by this.
  */
 @ApiStatus.NonExtendable
 public interface TrackedValue<T> extends ValueTreeNode {
@@ -46,6 +60,36 @@
 	 */
 	T value();
 
+	/**
+	 * Returns a number that increases whenever this value effectively changes: when it is set to a value that isn't
+	 * equal to the previous one, when its override changes, or when it is modified in place, like adding to a
+	 * {@link ValueList}.
+	 *
+	 * <p>Reading the version is as cheap as reading the value, so it can be polled to find out whether state derived
+	 * from this value needs to be recomputed.
+	 *
+	 * @return the version of this value
+	 */
+	long version();
+
+	/**
+	 * Returns a method handle that takes no arguments and returns the current {@link #value()} as an {@link Object}.
+	 *
+	 * <p>Meant for values that are read very often but rarely change, such as feature flags. When the handle is stored
+	 * in a {@code static final} field, the JIT compiler can treat the current value as a constant, and discards the
+	 * code relying on it whenever this value changes. Changing such a value is therefore expensive.
+	 * <pre>
+	 * static final MethodHandle ENABLED = CONFIG.enabled.getter();
+	 *
+	 * boolean enabled = (Boolean) ENABLED.invoke();
+	 * </pre>
+	 *
+	 * <p>Modifying a {@link ValueList} or {@link ValueMap} in place doesn't change which object the handle returns.
+	 *
+	 * @return a getter for this value, which is the same on every call
+	 */
+	MethodHandle getter();
+
 	/**
 	 * @return whether or not this value is being overridden
 	 */
@@ -130,7 +174,7 @@ default T setValue(@NotNull T newValue) {
 	static <T> TrackedValue<T> create(@NotNull T defaultValue, @NotNull String key0, String... keys) {
 		ConfigUtils.assertValueType(defaultValue);
 		Objects.requireNonNull(key0);
-		return new TrackedValueImpl<>(new ValueKeyImpl(key0, keys), defaultValue, new LinkedHashMap<>(0), new ArrayList<>(0), new ArrayList<>(0));
+		return TrackedValueImpl.create(new ValueKeyImpl(key0, keys), defaultValue, new LinkedHashMap<>(0), new ArrayList<>(0), new ArrayList<>(0));
 	}
 
 	/**
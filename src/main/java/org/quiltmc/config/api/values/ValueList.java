@@ -18,18 +18,52 @@
 
 import org.jetbrains.annotations.ApiStatus;
 import org.quiltmc.config.impl.util.ConfigUtils;
+import org.quiltmc.config.impl.util.CopyOnWriteList;
 import org.quiltmc.config.impl.values.ValueListImpl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 @ApiStatus.NonExtendable
 public interface ValueList<T> extends List<T>, CompoundConfigValue<T> {
+	/**
+	 * Applies any number of changes to this list at once.
+	 *
+	 * <p>Every mutator of a {@link ValueList} saves the owning config and invokes its callbacks. When making many
+	 * changes, modify the list passed to {@code editor} instead: the config is saved and callbacks are invoked exactly
+	 * once, after the editor returns. Changes made through other value lists or maps, including ones nested in this
+	 * list, are not part of the edit.
+	 *
+	 * @param editor a function modifying the plain backing list, which must not be retained
+	 */
+	void edit(Consumer<? super List<T>> editor);
+
+	/**
+	 * @return whether this list was created by {@link #createCopyOnWrite(Object, Object[])}
+	 */
+	boolean isCopyOnWrite();
+
 	@SafeVarargs
 	static <T> ValueList<T> create(T defaultValue, T... values) {
 		ConfigUtils.assertValueType(defaultValue);
 
 		return new ValueListImpl<>(defaultValue, new ArrayList<>(Arrays.asList(values)));
 	}
+
+	/**
+	 * Creates a list that can be read and iterated from any thread while it is being modified.
+	 *
+	 * <p>Every modification replaces the contents of the list as a whole, which makes reads as cheap as those of a
+	 * regular list, and iterators see the list as it was when they were created. In exchange, every modification
+	 * copies the list, and iterators can't be used to modify it. This suits lists that are read far more often than
+	 * they are changed, such as allow or block lists. Use {@link #edit(Consumer)} to make many changes at once.
+	 */
+	@SafeVarargs
+	static <T> ValueList<T> createCopyOnWrite(T defaultValue, T... values) {
+		ConfigUtils.assertValueType(defaultValue);
+
+		return new ValueListImpl<>(defaultValue, new CopyOnWriteList<>(Arrays.asList(values)));
+	}
 }
@@ -21,9 +21,27 @@
 import org.quiltmc.config.impl.util.ConfigUtils;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 @ApiStatus.NonExtendable
 public interface ValueMap<T> extends Iterable<Map.Entry<String, T>>, Map<String, T>, CompoundConfigValue<T> {
+	/**
+	 * Applies any number of changes to this map at once.
+	 *
+	 * <p>Every mutator of a {@link ValueMap} saves the owning config and invokes its callbacks. When making many
+	 * changes, modify the map passed to {@code editor} instead: the config is saved and callbacks are invoked exactly
+	 * once, after the editor returns. Changes made through other value lists or maps, including ones nested in this
+	 * map, are not part of the edit.
+	 *
+	 * @param editor a function modifying the plain backing map, which must not be retained
+	 */
+	void edit(Consumer<? super Map<String, T>> editor);
+
+	/**
+	 * @return whether this map was built with {@link Builder#copyOnWrite()}
+	 */
+	boolean isCopyOnWrite();
+
 	static <T> Builder<T> builder(T defaultValue) {
 		ConfigUtils.assertValueType(defaultValue);
 
@@ -34,6 +52,16 @@ static <T> Builder<T> builder(T defaultValue) {
 	interface Builder<T> {
 		Builder<T> put(String key, T value);
 
+		/**
+		 * Makes the resulting map readable and iterable from any thread while it is being modified.
+		 *
+		 * <p>Every modification replaces the contents of the map as a whole, which makes reads as cheap as those of a
+		 * regular map, and iteration sees the map as it was when it started. In exchange, every modification copies
+		 * the map, and its views can't be used to modify it. Use {@link ValueMap#edit(Consumer)} to make many changes
+		 * at once.
+		 */
+		Builder<T> copyOnWrite();
+
 		ValueMap<T> build();
 	}
 
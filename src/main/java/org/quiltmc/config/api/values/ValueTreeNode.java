@@ -35,6 +35,8 @@ public interface ValueTreeNode extends MetadataContainer {
 
 	/**
 	 * Applies the inherited metadata to itself, and propagates its inherited metadata to its children.
+	 *
+	 * <p>Nodes of a config already resolve inherited metadata through their parents.
 	 */
 	void propagateInheritedMetadata(Map<MetadataType<?, ?>, Object> inheritedMetadata);
 
@@ -43,5 +45,10 @@ public interface ValueTreeNode extends MetadataContainer {
 	 */
 	@ApiStatus.NonExtendable
 	interface Section extends ValueTreeNode, Iterable<ValueTreeNode> {
+		/**
+		 * @return a number that increases whenever any value in this section, or in its subsections, changes
+		 * @see TrackedValue#version()
+		 */
+		long version();
 	}
 }
@@ -19,37 +19,170 @@
 import org.quiltmc.config.api.metadata.MetadataContainer;
 import org.quiltmc.config.api.metadata.MetadataType;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Stores metadata in arrays indexed by {@link MetadataType#id()}, and resolves inherited metadata that isn't set on a
+ * container through its parent.
+ *
+ * <p>Default values are resolved once per type and container, including whether a type has one at all.
+ */
 public abstract class AbstractMetadataContainer implements MetadataContainer {
-	public Map<MetadataType<?, ?>, Object> metadata;
+	private static final Object[] EMPTY = new Object[0];
+	// Marks types that were found to have no default value
+	private static final Object ABSENT = new Object();
+
+	// Holds null for types that aren't set, and is only ever replaced as a whole
+	private volatile Object[] values;
+	// Holds null for types whose default hasn't been resolved yet
+	private volatile Object[] defaults = EMPTY;
+	private volatile AbstractMetadataContainer parent;
 
 	protected AbstractMetadataContainer(Map<MetadataType<?, ?>, Object> metadata) {
-		this.metadata = metadata;
+		this.values = pack(metadata);
+	}
+
+	private static Object[] pack(Map<MetadataType<?, ?>, Object> metadata) {
+		if (metadata.isEmpty()) {
+			return EMPTY;
+		}
+
+		int length = 0;
+
+		for (MetadataType<?, ?> type : metadata.keySet()) {
+			length = Math.max(length, type.id() + 1);
+		}
+
+		Object[] values = new Object[length];
+
+		for (Map.Entry<MetadataType<?, ?>, Object> entry : metadata.entrySet()) {
+			values[entry.getKey().id()] = entry.getValue();
+		}
+
+		return values;
+	}
+
+	private static Object get(Object[] values, int id) {
+		return id < values.length ? values[id] : null;
+	}
+
+	private Object find(MetadataType<?, ?> type) {
+		int id = type.id();
+		AbstractMetadataContainer container = this;
+
+		do {
+			Object value = get(container.values, id);
+
+			if (value != null) {
+				return value;
+			}
+
+			container = container.parent;
+		} while (container != null && type.isInherited());
+
+		return null;
+	}
+
+	/**
+	 * Makes inherited metadata that isn't set on this container resolve to the metadata of the given parent.
+	 */
+	public void setParent(AbstractMetadataContainer parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * @return whether any metadata has been set on this container itself
+	 */
+	public boolean hasOwnMetadata() {
+		return this.values.length != 0;
+	}
+
+	/**
+	 * Replaces the metadata set on this container with the metadata set on another.
+	 */
+	public void copyMetadata(AbstractMetadataContainer source) {
+		this.values = source.values;
+		this.defaults = EMPTY;
+	}
+
+	/**
+	 * Sets each of the given metadata that isn't already set on this container.
+	 */
+	protected synchronized void putMetadataIfAbsent(Map<MetadataType<?, ?>, Object> metadata) {
+		Object[] values = this.values;
+
+		for (Map.Entry<MetadataType<?, ?>, Object> entry : metadata.entrySet()) {
+			int id = entry.getKey().id();
+
+			if (get(values, id) == null) {
+				values = Arrays.copyOf(values, Math.max(values.length, id + 1));
+				values[id] = entry.getValue();
+			}
+		}
+
+		this.values = values;
+	}
+
+	private synchronized void putDefault(int id, Object value) {
+		Object[] defaults = Arrays.copyOf(this.defaults, Math.max(this.defaults.length, id + 1));
+		defaults[id] = value;
+		this.defaults = defaults;
+	}
+
+	private Object defaultValue(MetadataType<?, ?> type) {
+		Object value = get(this.defaults, type.id());
+
+		if (value == null) {
+			Optional<?> defaultValue = type.getDefaultValue(this);
+
+			value = defaultValue.isPresent() ? defaultValue.get() : ABSENT;
+			this.putDefault(type.id(), value);
+		}
+
+		return value;
 	}
 
 	@SuppressWarnings("unchecked")
 	public <M> M metadata(MetadataType<M, ?> type) {
-		if (this.metadata.containsKey(type)) {
-			return (M) this.metadata.get(type);
-		} else {
-			Optional<M> defaultValue = type.getDefaultValue(this);
-
-			if (defaultValue.isPresent()) {
-				this.metadata.put(type, defaultValue.get());
-				return (M) this.metadata.get(type);
-			} else {
-				return null;
-			}
+		Object value = this.find(type);
+
+		if (value == null) {
+			value = this.defaultValue(type);
 		}
+
+		return value == ABSENT ? null : (M) value;
 	}
 
 	public <M> boolean hasMetadata(MetadataType<M, ?> type) {
-		return this.metadata.containsKey(type) || type.getDefaultValue(this).isPresent();
+		return this.find(type) != null || this.defaultValue(type) != ABSENT;
 	}
 
 	public Map<MetadataType<?, ?>, Object> metadata() {
-		return this.metadata;
+		Map<MetadataType<?, ?>, Object> metadata = new LinkedHashMap<>();
+		Object[] values = this.values;
+
+		for (int id = 0; id < values.length; id++) {
+			if (values[id] != null) {
+				metadata.put(MetadataType.byId(id), values[id]);
+			}
+		}
+
+		for (AbstractMetadataContainer parent = this.parent; parent != null; parent = parent.parent) {
+			values = parent.values;
+
+			for (int id = 0; id < values.length; id++) {
+				MetadataType<?, ?> type = MetadataType.byId(id);
+
+				if (values[id] != null && type.isInherited()) {
+					metadata.putIfAbsent(type, values[id]);
+				}
+			}
+		}
+
+		return Collections.unmodifiableMap(metadata);
 	}
 }
@@ -40,9 +40,12 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public final class ConfigFieldAnnotationProcessors {
 	private static final Map<Class<? extends Annotation>, List<ConfigFieldAnnotationProcessor<?>>> PROCESSORS = new HashMap<>();
+	// Changes whenever a processor is registered, so that anything resolved from the registry knows to resolve again
+	private static volatile int version;
 
 	static {
 		register(Comment.class, new CommentProcessor());
@@ -62,6 +65,45 @@ public final class ConfigFieldAnnotationProcessors {
 	public static <T extends Annotation> void register(Class<T> annotationClass, ConfigFieldAnnotationProcessor<T> processor) {
 		PROCESSORS.computeIfAbsent(annotationClass, c -> new ArrayList<>())
 				.add(processor);
+		version++;
+	}
+
+	/**
+	 * @return the current version of the registry, which changes whenever a processor is registered
+	 */
+	public static int version() {
+		return version;
+	}
+
+	/**
+	 * Looks up the processors for the given annotations once, so that they can be applied any number of times.
+	 *
+	 * @return applies the processors of all given annotations, in order
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static Consumer<MetadataContainerBuilder<?>> resolve(Annotation[] annotations) {
+		List<Annotation> resolvedAnnotations = new ArrayList<>();
+		List<ConfigFieldAnnotationProcessor> resolvedProcessors = new ArrayList<>();
+
+		for (Annotation annotation : annotations) {
+			for (ConfigFieldAnnotationProcessor<?> processor : PROCESSORS.getOrDefault(annotation.annotationType(), Collections.emptyList())) {
+				resolvedAnnotations.add(annotation);
+				resolvedProcessors.add(processor);
+			}
+		}
+
+		if (resolvedProcessors.isEmpty()) {
+			return builder -> {};
+		}
+
+		Annotation[] applied = resolvedAnnotations.toArray(new Annotation[0]);
+		ConfigFieldAnnotationProcessor[] processors = resolvedProcessors.toArray(new ConfigFieldAnnotationProcessor[0]);
+
+		return builder -> {
+			for (int i = 0; i < processors.length; i++) {
+				processors[i].process(applied[i], builder);
+			}
+		};
 	}
 
 	private static <T extends Annotation> void process(ConfigFieldAnnotationProcessor<T> processor, T annotation, MetadataContainerBuilder<?> builder) {
@@ -20,25 +20,48 @@
 import org.quiltmc.config.api.Config;
 import org.quiltmc.config.api.InternalsHelper;
 import org.quiltmc.config.api.ReflectiveConfig;
+import org.quiltmc.config.api.Serializer;
 import org.quiltmc.config.api.WrappedConfig;
+import org.quiltmc.config.api.exceptions.TrackedValueException;
 import org.quiltmc.config.api.metadata.MetadataType;
 import org.quiltmc.config.api.values.TrackedValue;
+import org.quiltmc.config.api.values.ValueKey;
 import org.quiltmc.config.api.values.ValueTreeNode;
 import org.quiltmc.config.impl.builders.ConfigBuilderImpl;
 import org.quiltmc.config.impl.builders.ReflectiveConfigCreator;
 import org.quiltmc.config.impl.builders.WrappedConfigCreator;
+import org.quiltmc.config.impl.tree.SectionTreeNode;
+import org.quiltmc.config.impl.tree.TrackedValueImpl;
 import org.quiltmc.config.impl.tree.Trie;
+import org.quiltmc.config.impl.util.ConfigUtils;
+import org.quiltmc.config.impl.util.FileUtils;
 import org.quiltmc.config.impl.util.ImmutableIterable;
+import org.quiltmc.config.impl.util.SaveScheduler;
+import org.quiltmc.config.impl.util.SerializedKeyIndex;
+import org.quiltmc.config.impl.util.SerializerUtils;
+import org.quiltmc.config.impl.values.ValueKeyImpl;
+import org.quiltmc.config.implementor_api.CallbackDispatcher;
 import org.quiltmc.config.implementor_api.ConfigEnvironment;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 public final class ConfigImpl extends AbstractMetadataContainer implements Config {
 	private final ConfigEnvironment environment;
@@ -47,6 +70,18 @@ public final class ConfigImpl extends AbstractMetadataContainer implements Confi
 	private final List<UpdateCallback> callbacks;
 	private final Trie values;
 	private final String defaultFileType;
+	// Batches are confined to the thread that started them, so that changes made concurrently elsewhere aren't swallowed
+	private final ThreadLocal<Batch> batch = new ThreadLocal<>();
+	// Held shared by every change and exclusively while taking a snapshot
+	private final ReentrantReadWriteLock changeLock = new ReentrantReadWriteLock();
+	private final AtomicLong version = new AtomicLong();
+	private volatile SnapshotImpl snapshot;
+
+	// Resolved once the tree is complete, since naming metadata may be inherited from parents
+	private final Map<ValueTreeNode, ValueKey> serializedKeys = new IdentityHashMap<>();
+	private final Map<ValueTreeNode, List<ValueKey>> possibleKeys = new IdentityHashMap<>();
+	private final SerializedKeyIndex keyIndex = new SerializedKeyIndex();
+	private final Map<TrackedValue<?>, List<SectionTreeNode>> sections = new IdentityHashMap<>();
 
 	public ConfigImpl(ConfigEnvironment environment, String id, Path path, Map<MetadataType<?, ?>, Object> metadata, String family, List<UpdateCallback> callbacks, Trie values, String defaultFileType) {
 		super(metadata);
@@ -54,20 +89,73 @@ public ConfigImpl(ConfigEnvironment environment, String id, Path path, Map<Metad
 		this.family = family;
 		this.id = id;
 		this.path = path;
-		this.callbacks = callbacks;
+		this.callbacks = new CopyOnWriteArrayList<>(callbacks);
 		this.values = values;
-		Map<MetadataType<?, ?>, Object> inheritedMetadata = new LinkedHashMap<>();
-		for (Map.Entry<MetadataType<?, ?>, Object> entry: metadata.entrySet()) {
-			if (entry.getKey().isInherited()) {
-				inheritedMetadata.put(entry.getKey(), entry.getValue());
+		setParents(this.values.nodes(), this);
+
+		this.defaultFileType = defaultFileType;
+		this.cacheSerializedKeys(this.values.nodes(), null, Collections.emptyList());
+	}
+
+	// Inherited metadata is resolved through the parents of each node rather than copied into them
+	private static void setParents(Iterable<ValueTreeNode> nodes, AbstractMetadataContainer parent) {
+		for (ValueTreeNode node : nodes) {
+			((AbstractMetadataContainer) node).setParent(parent);
+
+			if (node instanceof ValueTreeNode.Section) {
+				setParents((ValueTreeNode.Section) node, (AbstractMetadataContainer) node);
 			}
 		}
+	}
+
+	private void cacheSerializedKeys(Iterable<ValueTreeNode> nodes, ValueKey parentKey, List<SectionTreeNode> parents) {
+		for (ValueTreeNode node : nodes) {
+			String name = SerializerUtils.getSerializedName(node);
+			ValueKey serializedKey = parentKey == null ? new ValueKeyImpl(name) : parentKey.child(name);
+
+			List<ValueKey> possibleKeys = SerializerUtils.createPossibleKeys(serializedKey, node);
+
+			this.serializedKeys.put(node, serializedKey);
+			this.possibleKeys.put(node, Collections.unmodifiableList(possibleKeys));
 
-		for (ValueTreeNode node : this.values.nodes()) {
-			node.propagateInheritedMetadata(inheritedMetadata);
+			if (node instanceof TrackedValue) {
+				for (int i = 0; i < possibleKeys.size(); i++) {
+					this.keyIndex.put(possibleKeys.get(i), (TrackedValue<?>) node, i);
+				}
+
+				this.sections.put((TrackedValue<?>) node, parents);
+			} else if (node instanceof ValueTreeNode.Section) {
+				List<SectionTreeNode> sections = parents;
+
+				if (node instanceof SectionTreeNode) {
+					sections = new ArrayList<>(parents);
+					sections.add((SectionTreeNode) node);
+				}
+
+				this.cacheSerializedKeys((ValueTreeNode.Section) node, serializedKey, sections);
+			}
 		}
+	}
 
-		this.defaultFileType = defaultFileType;
+	/**
+	 * @return the key the given node is serialized under, or {@code null} if it isn't part of this config
+	 */
+	public ValueKey getSerializedKey(ValueTreeNode node) {
+		return this.serializedKeys.get(node);
+	}
+
+	/**
+	 * @return an index of every key the values of this config may be read from
+	 */
+	public SerializedKeyIndex getKeyIndex() {
+		return this.keyIndex;
+	}
+
+	/**
+	 * @return every key the given node may be read from, or {@code null} if it isn't part of this config
+	 */
+	public List<ValueKey> getPossibleKeys(ValueTreeNode node) {
+		return this.possibleKeys.get(node);
 	}
 
 	@Override
@@ -103,23 +191,206 @@ private Path getPath() {
 	}
 
 	@Override
-	public void save() {
-		Path path = this.getPath();
+	public synchronized void save() {
+		SaveScheduler scheduler = this.environment.getSaveScheduler();
+
+		if (scheduler != null) {
+			scheduler.cancel(this);
+		}
+
+		Serializer serializer = this.environment.getSerializer(this.defaultFileType);
 
 		try {
-			Files.createDirectories(path.getParent());
-			this.environment.getSerializer(this.defaultFileType).serialize(this, Files.newOutputStream(path));
+			FileUtils.writeAtomically(this.getPath(), this.environment.shouldSyncOnSave(), out -> serializer.serialize(this, out));
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
 	}
 
-	public void invokeCallbacks() {
+	/**
+	 * Saves this config, or marks it as dirty if its environment defers saving.
+	 */
+	public void requestSave() {
+		SaveScheduler scheduler = this.environment.getSaveScheduler();
+
+		if (scheduler != null) {
+			scheduler.markDirty(this);
+		} else {
+			this.save();
+		}
+	}
+
+	public void invokeCallbacks(Set<ValueKey> changedKeys) {
 		for (UpdateCallback callback : this.callbacks) {
-			callback.onUpdate(this);
+			callback.onUpdate(this, changedKeys);
+		}
+	}
+
+	/**
+	 * Starts grouping value changes: until the matching {@link #endBatch()}, values record that they changed instead of
+	 * invoking any callbacks. Batches may be nested, and only group changes made on the calling thread.
+	 */
+	public void beginBatch() {
+		Batch batch = this.batch.get();
+
+		if (batch == null) {
+			batch = new Batch();
+			this.batch.set(batch);
+			this.changeLock.readLock().lock();
+		}
+
+		batch.depth++;
+	}
+
+	public boolean isBatching() {
+		return this.batch.get() != null;
+	}
+
+	/**
+	 * Records that the given value changed if a batch is in progress.
+	 *
+	 * @return whether the callbacks for this change were deferred to the end of the batch
+	 */
+	public boolean deferCallbacks(TrackedValueImpl<?> value) {
+		Batch batch = this.batch.get();
+
+		if (batch == null) {
+			return false;
+		}
+
+		batch.changes.add(value);
+
+		return true;
+	}
+
+	/**
+	 * Ends the current batch. Once the outermost batch ends, config callbacks are invoked once with the keys of all
+	 * changed values, followed by the callbacks of each changed value.
+	 */
+	public void endBatch() {
+		Batch batch = this.batch.get();
+
+		if (--batch.depth > 0) {
+			return;
+		}
+
+		this.batch.remove();
+		this.changeLock.readLock().unlock();
+
+		if (batch.changes.isEmpty()) {
+			return;
+		}
+
+		Set<ValueKey> changedKeys = new LinkedHashSet<>();
+
+		for (TrackedValueImpl<?> value : batch.changes) {
+			changedKeys.add(value.key());
+		}
+
+		Set<ValueKey> keys = Collections.unmodifiableSet(changedKeys);
+
+		this.dispatchCallbacks(this, () -> this.invokeCallbacks(keys), false);
+
+		for (TrackedValueImpl<?> value : batch.changes) {
+			this.dispatchCallbacks(value, value::invokeValueCallbacks, true);
+		}
+	}
+
+	/**
+	 * Invokes callbacks right away, or hands them to the environment's {@link CallbackDispatcher} if it has one.
+	 *
+	 * @param source the value or config the callbacks belong to
+	 * @param latestOnly whether the callbacks only report the latest state of their source
+	 */
+	public void dispatchCallbacks(Object source, Runnable callbacks, boolean latestOnly) {
+		CallbackDispatcher dispatcher = this.environment.getCallbackDispatcher();
+
+		if (dispatcher == null) {
+			callbacks.run();
+		} else {
+			dispatcher.dispatch(source, callbacks, latestOnly);
+		}
+	}
+
+	/**
+	 * Must surround every change of a value of this config, keeping snapshots from being taken in the middle of it.
+	 */
+	public void beginChange() {
+		this.changeLock.readLock().lock();
+	}
+
+	/**
+	 * @param changed whether the value effectively changed, which advances the versions of this config and of every
+	 *                section containing the value
+	 */
+	public void endChange(TrackedValueImpl<?> value, boolean changed) {
+		if (changed) {
+			this.version.incrementAndGet();
+
+			for (SectionTreeNode section : this.sections.getOrDefault(value, Collections.emptyList())) {
+				section.incrementVersion();
+			}
+		}
+
+		this.changeLock.readLock().unlock();
+	}
+
+	@Override
+	public long version() {
+		return this.version.get();
+	}
+
+	@Override
+	public Snapshot snapshot() {
+		SnapshotImpl snapshot = this.snapshot;
+
+		if (snapshot != null && snapshot.version == this.version.get()) {
+			return snapshot;
+		}
+
+		if (this.changeLock.getReadHoldCount() > 0) {
+			throw new IllegalStateException("Cannot take a snapshot of config '" + this.family + ":" + this.id + "' while changing its values");
+		}
+
+		this.changeLock.writeLock().lock();
+
+		try {
+			long version = this.version.get();
+			snapshot = this.snapshot;
+
+			if (snapshot == null || snapshot.version != version) {
+				snapshot = new SnapshotImpl(version, this.values());
+				this.snapshot = snapshot;
+			}
+
+			return snapshot;
+		} finally {
+			this.changeLock.writeLock().unlock();
 		}
 	}
 
+	/**
+	 * Reads the values of this config. Callbacks are invoked once after everything has been read, with the keys of
+	 * all values that changed, rather than once per value.
+	 */
+	public void deserialize(Serializer serializer, InputStream from) throws IOException {
+		this.beginBatch();
+
+		try {
+			serializer.deserialize(this, from);
+		} finally {
+			this.endBatch();
+		}
+	}
+
+	@Override
+	public void transaction(Consumer<Transaction> changes) {
+		TransactionImpl transaction = new TransactionImpl();
+
+		changes.accept(transaction);
+		transaction.commit();
+	}
+
 	public Iterable<TrackedValue<?>> values() {
 		return new Iterable<TrackedValue<?>>() {
 			@NotNull
@@ -199,4 +470,106 @@ public static <C extends ReflectiveConfig> C createReflective(ConfigEnvironment
 
 		return c;
 	}
+
+	private final class TransactionImpl implements Transaction {
+		private final Map<TrackedValueImpl<?>, Object> changes = new LinkedHashMap<>();
+
+		@Override
+		public <T> Transaction set(TrackedValue<T> value, T newValue) {
+			if (!(value instanceof TrackedValueImpl) || ((TrackedValueImpl<T>) value).getConfig() != ConfigImpl.this) {
+				throw new TrackedValueException("TrackedValue '" + value.key() + "' does not belong to config '" + ConfigImpl.this.family + ":" + ConfigImpl.this.id + "'");
+			}
+
+			this.changes.put((TrackedValueImpl<T>) value, newValue);
+
+			return this;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void commit() {
+			StringBuilder errorMessage = null;
+
+			for (Map.Entry<TrackedValueImpl<?>, Object> change : this.changes.entrySet()) {
+				TrackedValueImpl<Object> value = (TrackedValueImpl<Object>) change.getKey();
+
+				if (value.isValid(change.getValue())) {
+					continue;
+				}
+
+				Optional<Iterable<String>> errors = value.checkForFailingConstraints(change.getValue());
+
+				if (errors.isPresent()) {
+					if (errorMessage == null) {
+						errorMessage = new StringBuilder();
+					}
+
+					for (String message : errors.get()) {
+						errorMessage.append(value.key()).append(": ").append(message).append('\n');
+					}
+				}
+			}
+
+			if (errorMessage != null) {
+				throw new TrackedValueException(errorMessage.toString());
+			}
+
+			boolean changed = false;
+
+			ConfigImpl.this.beginBatch();
+
+			try {
+				for (Map.Entry<TrackedValueImpl<?>, Object> change : this.changes.entrySet()) {
+					TrackedValueImpl<Object> value = (TrackedValueImpl<Object>) change.getKey();
+
+					if (!Objects.equals(value.getRealValue(), change.getValue())) {
+						value.setValue(change.getValue(), false);
+						changed = true;
+					}
+				}
+
+			} finally {
+				ConfigImpl.this.endBatch();
+			}
+
+			// Outside of the batch, so that snapshots aren't held up by writing the file
+			if (changed) {
+				ConfigImpl.this.requestSave();
+			}
+		}
+	}
+
+	private static final class SnapshotImpl implements Snapshot {
+		private final long version;
+		private final Map<TrackedValue<?>, Object> values = new IdentityHashMap<>();
+
+		private SnapshotImpl(long version, Iterable<TrackedValue<?>> values) {
+			this.version = version;
+
+			for (TrackedValue<?> value : values) {
+				this.values.put(value, ConfigUtils.immutableCopy(value.value()));
+			}
+		}
+
+		@Override
+		public long version() {
+			return this.version;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T get(TrackedValue<T> value) {
+			Object result = this.values.get(value);
+
+			if (result == null) {
+				throw new IllegalArgumentException("TrackedValue '" + value.key() + "' is not part of this snapshot");
+			}
+
+			return (T) result;
+		}
+	}
+
+	private static final class Batch {
+		private final Set<TrackedValueImpl<?>> changes = new LinkedHashSet<>();
+		private int depth;
+	}
 }
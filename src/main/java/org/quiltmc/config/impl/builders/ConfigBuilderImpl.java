@@ -18,6 +18,7 @@
 
 import org.quiltmc.config.api.Config;
 import org.quiltmc.config.api.Serializer;
+import org.quiltmc.config.api.exceptions.ConfigCreationException;
 import org.quiltmc.config.api.exceptions.ConfigParseException;
 import org.quiltmc.config.api.metadata.MetadataType;
 import org.quiltmc.config.api.values.TrackedValue;
@@ -26,13 +27,17 @@
 import org.quiltmc.config.impl.tree.TrackedValueImpl;
 import org.quiltmc.config.impl.tree.Trie;
 import org.quiltmc.config.impl.util.ConfigsImpl;
+import org.quiltmc.config.impl.util.FileUtils;
 import org.quiltmc.config.impl.values.ValueKeyImpl;
 import org.quiltmc.config.implementor_api.ConfigEnvironment;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -99,6 +104,31 @@ public Config.Builder format(String format) {
 	}
 
 	public ConfigImpl build() {
+		// Fail before any value is bound to a config that would never be registered
+		if (ConfigsImpl.getConfig(this.familyId, this.id) != null) {
+			throw new ConfigCreationException("Config '" + this.familyId + ':' + this.id + "' already exists");
+		}
+
+		ConfigImpl config = this.buildUnregistered();
+
+		try {
+			ConfigsImpl.put(this.familyId, config);
+		} catch (ConfigCreationException e) {
+			// Registered concurrently since the check above
+			unbind(config);
+
+			throw e;
+		}
+
+		doInitialSerialization(config);
+
+		return config;
+	}
+
+	/**
+	 * Creates the config without registering or loading it.
+	 */
+	public ConfigImpl buildUnregistered() {
 		Map<MetadataType<?, ?>, Object> metadata = new LinkedHashMap<>();
 
 		for (Map.Entry<MetadataType<?, ?>, MetadataType.Builder<?>> entry : this.metadata.entrySet()) {
@@ -107,17 +137,22 @@ public ConfigImpl build() {
 
 		ConfigImpl config = new ConfigImpl(this.environment, this.id, this.path, metadata, this.familyId, this.callbacks, this.values, this.format);
 
-		ConfigsImpl.put(this.familyId, config);
-
 		for (TrackedValue<?> value : config.values()) {
 			((TrackedValueImpl<?>) value).setConfig(config);
 		}
 
-		doInitialSerialization(config);
-
 		return config;
 	}
 
+	/**
+	 * Releases the values of a config that was built but will never be registered, so they can be used again.
+	 */
+	public static void unbind(ConfigImpl config) {
+		for (TrackedValue<?> value : config.values()) {
+			((TrackedValueImpl<?>) value).unsetConfig(config);
+		}
+	}
+
 	public static void doInitialSerialization(ConfigImpl config) {
 		ConfigEnvironment environment = config.getEnvironment();
 
@@ -131,10 +166,14 @@ public static void doInitialSerialization(ConfigImpl config) {
 		try {
 			Files.createDirectories(path.getParent());
 
+			// The contents of the file at path as they were read, if it was read
+			byte[] existing = null;
+
 			if ((defaultSerializer == serializer || !Files.exists(defaultPath)) && Files.exists(path)) {
-				serializer.deserialize(config, Files.newInputStream(path));
+				existing = Files.readAllBytes(path);
+				config.deserialize(serializer, new ByteArrayInputStream(existing));
 			} else if (Files.exists(defaultPath)) {
-				defaultSerializer.deserialize(config, Files.newInputStream(defaultPath));
+				config.deserialize(defaultSerializer, new ByteArrayInputStream(Files.readAllBytes(defaultPath)));
 
 				try {
 					Files.delete(defaultPath);
@@ -143,7 +182,13 @@ public static void doInitialSerialization(ConfigImpl config) {
 				}
 			}
 
-			serializer.serialize(config, Files.newOutputStream(path));
+			ByteArrayOutputStream serialized = new ByteArrayOutputStream(existing == null ? 4096 : existing.length);
+			serializer.serialize(config, serialized);
+
+			// Rewriting an up-to-date file is a waste of time, especially on slow file systems
+			if (existing == null || !Arrays.equals(existing, serialized.toByteArray())) {
+				FileUtils.writeAtomically(path, environment.shouldSyncOnSave(), serialized::writeTo);
+			}
 		} catch (IOException e) {
 			throw new ConfigParseException(e);
 		}
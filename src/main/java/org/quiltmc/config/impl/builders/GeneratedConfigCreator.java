@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.impl.builders;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.quiltmc.config.api.Config;
+
+/**
+ * Creates a reflective config without reflection, using code generated by the quilt-config annotation processor.
+ *
+ * <p>Implementations are named after the binary name of the config class they create, with any {@code $} doubled
+ * so that nested classes can't collide with top-level ones, and {@link #SUFFIX} appended. They are picked up by
+ * {@link ReflectiveConfigCreator} when present, unless the {@link #DISABLE_PROPERTY} system property is set to
+ * {@code true}.
+ */
+@ApiStatus.Internal
+public interface GeneratedConfigCreator<C> {
+	String SUFFIX = "_QuiltConfigCreator";
+	/**
+	 * Makes every config be created reflectively, so that tests can cover both ways of creating configs.
+	 */
+	String DISABLE_PROPERTY = "quilt.config.disableGeneratedCreators";
+
+	/**
+	 * @return a new instance of the config class
+	 */
+	C instantiate();
+
+	/**
+	 * Builds the same config as {@link ReflectiveConfigCreator#create(Config.Builder)} would.
+	 *
+	 * @param creator the creator to add fields through
+	 * @param instance the instance to read fields from
+	 */
+	void create(ReflectiveConfigCreator<C> creator, Config.Builder builder, C instance);
+}
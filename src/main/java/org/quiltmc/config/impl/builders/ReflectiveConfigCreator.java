@@ -19,19 +19,40 @@
 import org.quiltmc.config.api.Config;
 import org.quiltmc.config.api.ReflectiveConfig;
 import org.quiltmc.config.api.annotations.Processor;
+import org.quiltmc.config.api.metadata.MetadataContainerBuilder;
 import org.quiltmc.config.api.values.TrackedValue;
 import org.quiltmc.config.impl.ConfigFieldAnnotationProcessors;
 import org.quiltmc.config.api.exceptions.ConfigCreationException;
 import org.quiltmc.config.api.exceptions.ConfigFieldException;
 import org.quiltmc.config.impl.tree.TrackedValueImpl;
 
-import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class ReflectiveConfigCreator<C> implements Config.Creator {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final boolean GENERATED_CREATORS = !Boolean.getBoolean(GeneratedConfigCreator.DISABLE_PROPERTY);
+	private static final ClassValue<ConfigPlan> CONFIG_PLANS = new ClassValue<ConfigPlan>() {
+		@Override
+		protected ConfigPlan computeValue(Class<?> type) {
+			return new ConfigPlan(type);
+		}
+	};
+	private static final ClassValue<SectionPlan> SECTION_PLANS = new ClassValue<SectionPlan>() {
+		@Override
+		protected SectionPlan computeValue(Class<?> type) {
+			return new SectionPlan(type);
+		}
+	};
+
 	private final Class<C> creatorClass;
 	private C instance;
 
@@ -39,134 +60,163 @@ public ReflectiveConfigCreator(Class<C> creatorClass) {
 		this.creatorClass = creatorClass;
 	}
 
-	@SuppressWarnings({"unchecked", "rawtypes"})
-	private void createField(Config.SectionBuilder builder, Object object, Field field) throws IllegalAccessException {
-		if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
-			if (!Modifier.isFinal(field.getModifiers())) {
-				throw new ConfigFieldException("Field '" + field.getType().getName() + ':' + field.getName() + "' is not final!");
-			}
-
-			if (!Modifier.isPublic(field.getModifiers())) {
-				field.setAccessible(true);
-			}
-
-			Object defaultValue = field.get(object);
+	/**
+	 * @return the plan for the given class, made again if annotation processors have been registered since
+	 */
+	private static <P extends Plan> P plan(ClassValue<P> plans, Class<?> type) {
+		P plan = plans.get(type);
 
-			if (defaultValue instanceof TrackedValueImpl) {
-				TrackedValueImpl<?> value = (TrackedValueImpl<?>) defaultValue;
+		if (plan.version != ConfigFieldAnnotationProcessors.version()) {
+			plans.remove(type);
+			plan = plans.get(type);
+		}
 
-				TrackedValueBuilderImpl<?> delegateBuilder = new TrackedValueBuilderImpl<>(value.getDefaultValue(), field.getName());
+		return plan;
+	}
 
-				for (Annotation annotation : field.getAnnotations()) {
-					ConfigFieldAnnotationProcessors.applyAnnotationProcessors(annotation, delegateBuilder);
-				}
+	private void createFields(Config.SectionBuilder builder, Object section) {
+		for (FieldPlan field : plan(SECTION_PLANS, section.getClass()).fields) {
+			field.create(this, builder, section);
+		}
+	}
 
-				if (field.isAnnotationPresent(Processor.class)) {
-					Processor processor = field.getAnnotation(Processor.class);
+	/**
+	 * Adds a value field to the config being created.
+	 *
+	 * @param creator applies the annotations and processor of the field to the builder of the value
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void createValue(Config.SectionBuilder builder, TrackedValue<?> defaultValue, String name, Consumer<TrackedValue.Builder<?>> creator) {
+		if (defaultValue == null) {
+			throw new ConfigFieldException("Default value for field '" + name + "' cannot be null");
+		} else if (!(defaultValue instanceof TrackedValueImpl)) {
+			throw new ConfigFieldException("Class '" + defaultValue.getClass().getName() + "' of field '" + name + "' "
+					+ "of config class '" + this.creatorClass.getName() + "'is not a valid config value: it must be created by TrackedValue.create or ReflectiveConfig#value");
+		}
 
-					try {
-						Method method = field.getDeclaringClass().getMethod(processor.value(), TrackedValue.Builder.class);
+		TrackedValueImpl<?> value = (TrackedValueImpl<?>) defaultValue;
+		TrackedValueBuilderImpl<?> delegateBuilder = new TrackedValueBuilderImpl<>(value.getDefaultValue(), name);
 
-						method.invoke(object, delegateBuilder);
-					} catch (NoSuchMethodException e) {
-						throw new ConfigCreationException("Processor method '" + processor.value() + "' not found for config field '" + this.creatorClass.getName() + "#" + field.getName() + "'.");
-					} catch (InvocationTargetException | IllegalAccessException e) {
-						throw new ConfigCreationException("Exception invoking processor method '" + processor.value() + "': " + e.getLocalizedMessage());
-					}
-				}
+		creator.accept(delegateBuilder);
 
-				TrackedValueImpl delegate = (TrackedValueImpl<?>) delegateBuilder.build();
-				if (value.key() != null) {
-					throw new IllegalStateException("Unexpected key set in TrackedValue. Please report this at https://github.com/QuiltMC/quilt-config/issues!");
-				}
+		TrackedValueImpl delegate = (TrackedValueImpl<?>) delegateBuilder.build();
+		if (value.key() != null) {
+			throw new IllegalStateException("Unexpected key set in TrackedValue. Please report this at https://github.com/QuiltMC/quilt-config/issues!");
+		}
 
-				value.setKey(delegate.key());
-				if (!value.metadata.isEmpty()) {
-					throw new IllegalStateException("Unexpected metadata value set in TrackedValue. Please report this at https://github.com/QuiltMC/quilt-config/issues!");
-				}
+		value.setKey(delegate.key());
+		if (value.hasOwnMetadata()) {
+			throw new IllegalStateException("Unexpected metadata value set in TrackedValue. Please report this at https://github.com/QuiltMC/quilt-config/issues!");
+		}
 
-				value.metadata = delegate.metadata;
-				if (!value.constraints.isEmpty()) {
-					throw new IllegalStateException("Unexpected constraints value set in TrackedValue. Please report this at https://github.com/QuiltMC/quilt-config/issues!");
-				}
+		value.copyMetadata(delegate);
+		if (!value.constraints.isEmpty()) {
+			throw new IllegalStateException("Unexpected constraints value set in TrackedValue. Please report this at https://github.com/QuiltMC/quilt-config/issues!");
+		}
 
-				value.constraints = delegate.constraints;
-				if (!value.callbacks.isEmpty()) {
-					throw new IllegalStateException("Unexpected callback value set in TrackedValue. Please report this at https://github.com/QuiltMC/quilt-config/issues!");
-				}
+		value.constraints = delegate.constraints;
+		if (!value.callbacks.isEmpty()) {
+			throw new IllegalStateException("Unexpected callback value set in TrackedValue. Please report this at https://github.com/QuiltMC/quilt-config/issues!");
+		}
 
-				value.callbacks = delegate.callbacks;
+		value.callbacks = delegate.callbacks;
 
-				builder.field(value);
-			} else if (defaultValue instanceof ReflectiveConfig.Section) {
-				builder.section(field.getName(), b -> {
-					for (Annotation annotation : field.getAnnotations()) {
-						ConfigFieldAnnotationProcessors.applyAnnotationProcessors(annotation, b);
-					}
-
-					if (field.isAnnotationPresent(Processor.class)) {
-						Processor processor = field.getAnnotation(Processor.class);
+		builder.field(value);
+	}
 
-						try {
-							Method method = field.getDeclaringClass().getMethod(processor.value(), Config.SectionBuilder.class);
+	/**
+	 * Adds a section field to the config being created.
+	 *
+	 * @param type the class the fields were generated from; sections of any other class have their fields created reflectively
+	 * @param creator applies the annotations and processor of the field to the builder of the section
+	 * @param fields adds the fields of the section
+	 */
+	public void createSection(Config.SectionBuilder builder, ReflectiveConfig.Section section, Class<?> type, String name, Consumer<Config.SectionBuilder> creator, Consumer<Config.SectionBuilder> fields) {
+		if (section == null) {
+			throw new ConfigFieldException("Default value for field '" + name + "' cannot be null");
+		}
 
-							method.invoke(object, b);
-						} catch (NoSuchMethodException e) {
-							throw new ConfigCreationException("Processor method '" + processor.value() + "' not found for config section '" + this.creatorClass.getName() + "#" + field.getName() + "'.");
-						} catch (InvocationTargetException | IllegalAccessException e) {
-							throw new ConfigCreationException("Exception invoking processor method '" + processor.value() + "': " + e.getLocalizedMessage());
-						}
-					}
+		builder.section(name, b -> {
+			creator.accept(b);
 
-					for (Field f : defaultValue.getClass().getDeclaredFields()) {
-						if (!f.isSynthetic()) {
-							try {
-								this.createField(b, defaultValue, f);
-							} catch (IllegalAccessException e) {
-								throw new RuntimeException(e);
-							}
-						}
-					}
-				});
-			} else if (defaultValue == null) {
-				throw new ConfigFieldException("Default value for field '" + field.getName() + "' cannot be null");
+			if (section.getClass() == type) {
+				fields.accept(b);
 			} else {
-				throw new ConfigFieldException("Class '" + defaultValue.getClass().getName() + "' of field '" + field.getName() + "' "
-						+ "of config class '" + field.getDeclaringClass().getName() + "'is not a valid config value: it must be a TrackedValue or implement org.quiltmc.loader.api.Config.Section");
+				this.createFields(b, section);
 			}
-		}
+		});
 	}
 
+	@SuppressWarnings("unchecked")
 	public void create(Config.Builder builder) {
 		if (this.instance != null) {
 			throw new ConfigCreationException("Reflective config creator used more than once!");
 		}
 
-		try {
-			this.instance = this.creatorClass.getDeclaredConstructor().newInstance();
+		ConfigPlan plan = plan(CONFIG_PLANS, this.creatorClass);
 
-			for (Annotation annotation : this.creatorClass.getAnnotations()) {
-				ConfigFieldAnnotationProcessors.applyAnnotationProcessors(annotation, builder);
-			}
+		if (plan.generated != null) {
+			GeneratedConfigCreator<C> generated = (GeneratedConfigCreator<C>) plan.generated;
 
-			for (Field field : this.creatorClass.getDeclaredFields()) {
-				this.createField(builder, this.instance, field);
+			try {
+				this.instance = generated.instantiate();
+			} catch (RuntimeException e) {
+				// Matches the reflective constructor call below
+				throw new ConfigCreationException(e);
 			}
 
-			if (this.creatorClass.isAnnotationPresent(Processor.class)) {
-				Processor processor = this.creatorClass.getAnnotation(Processor.class);
+			generated.create(this, builder, this.instance);
 
-				try {
-					Method method = this.creatorClass.getMethod(processor.value(), Config.Builder.class);
+			return;
+		}
 
-					method.invoke(this.instance, builder);
-				} catch (NoSuchMethodException e) {
-					throw new ConfigCreationException("Processor method '" + processor.value() + "' not found for config class '" + this.creatorClass.getName() + "'.");
-				} catch (InvocationTargetException | IllegalAccessException e) {
-					throw new ConfigCreationException("Exception invoking processor method '" + processor.value() + "': " + e.getLocalizedMessage());
-				}
+		try {
+			this.instance = (C) plan.constructor.invokeExact();
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new ConfigCreationException(t);
+		}
+
+		plan.annotations.accept(builder);
+		this.createFields(builder, this.instance);
+
+		if (plan.processorName != null) {
+			if (plan.processor == null) {
+				throw new ConfigCreationException("Processor method '" + plan.processorName + "' not found for config class '" + this.creatorClass.getName() + "'.");
 			}
-		} catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+
+			invokeProcessor(plan.processor, plan.processorName, this.instance, builder);
+		}
+	}
+
+	private static void invokeProcessor(MethodHandle processor, String name, Object object, MetadataContainerBuilder<?> builder) {
+		try {
+			processor.invokeExact(object, (Object) builder);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new ConfigCreationException("Exception invoking processor method '" + name + "': " + t.getLocalizedMessage(), t);
+		}
+	}
+
+	/**
+	 * @return the creator generated for the given class at compile time, or {@code null} if there is none
+	 */
+	private static GeneratedConfigCreator<?> generatedCreator(Class<?> creatorClass) {
+		if (!GENERATED_CREATORS) {
+			return null;
+		}
+
+		String name = creatorClass.getName();
+		int simpleName = name.lastIndexOf('.') + 1;
+		String generatedName = name.substring(0, simpleName) + name.substring(simpleName).replace("$", "$$") + GeneratedConfigCreator.SUFFIX;
+
+		try {
+			return (GeneratedConfigCreator<?>) Class.forName(generatedName, true, creatorClass.getClassLoader()).getDeclaredConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (ReflectiveOperationException e) {
 			throw new ConfigCreationException(e);
 		}
 	}
@@ -182,4 +232,159 @@ public C getInstance() {
 
 		return this.instance;
 	}
+
+	/**
+	 * Everything that can be worked out about a class once, so that creating it again only has to replay it.
+	 */
+	private abstract static class Plan {
+		final int version = ConfigFieldAnnotationProcessors.version();
+	}
+
+	private static final class ConfigPlan extends Plan {
+		private final GeneratedConfigCreator<?> generated;
+		private final MethodHandle constructor;
+		private final Consumer<MetadataContainerBuilder<?>> annotations;
+		private final String processorName;
+		private final MethodHandle processor;
+
+		private ConfigPlan(Class<?> type) {
+			this.generated = generatedCreator(type);
+
+			if (this.generated != null) {
+				this.constructor = null;
+				this.annotations = null;
+				this.processorName = null;
+				this.processor = null;
+
+				return;
+			}
+
+			try {
+				Constructor<?> constructor = type.getDeclaredConstructor();
+
+				this.constructor = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+			} catch (NoSuchMethodException | IllegalAccessException e) {
+				throw new ConfigCreationException(e);
+			}
+
+			this.annotations = ConfigFieldAnnotationProcessors.resolve(type.getAnnotations());
+			Processor processor = type.getAnnotation(Processor.class);
+			this.processorName = processor == null ? null : processor.value();
+			this.processor = processor == null ? null : findProcessor(type, processor.value(), Config.Builder.class);
+		}
+	}
+
+	private static final class SectionPlan extends Plan {
+		private final FieldPlan[] fields;
+
+		private SectionPlan(Class<?> type) {
+			List<FieldPlan> fields = new ArrayList<>();
+
+			for (Field field : type.getDeclaredFields()) {
+				if (!field.isSynthetic() && !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+					fields.add(new FieldPlan(field));
+				}
+			}
+
+			this.fields = fields.toArray(new FieldPlan[0]);
+		}
+	}
+
+	private static final class FieldPlan {
+		private final String name;
+		private final String declaringClass;
+		private final MethodHandle getter;
+		private final Consumer<MetadataContainerBuilder<?>> annotations;
+		private final String processorName;
+		// Which one is used depends on whether the field holds a value or a section, which isn't known until it's read
+		private final MethodHandle valueProcessor;
+		private final MethodHandle sectionProcessor;
+
+		private FieldPlan(Field field) {
+			if (!Modifier.isFinal(field.getModifiers())) {
+				throw new ConfigFieldException("Field '" + field.getType().getName() + ':' + field.getName() + "' is not final!");
+			}
+
+			if (!Modifier.isPublic(field.getModifiers())) {
+				field.setAccessible(true);
+			}
+
+			this.name = field.getName();
+			this.declaringClass = field.getDeclaringClass().getName();
+
+			try {
+				this.getter = LOOKUP.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+			} catch (IllegalAccessException e) {
+				throw new ConfigCreationException(e);
+			}
+
+			this.annotations = ConfigFieldAnnotationProcessors.resolve(field.getAnnotations());
+			Processor processor = field.getAnnotation(Processor.class);
+			this.processorName = processor == null ? null : processor.value();
+			this.valueProcessor = processor == null ? null : findProcessor(field.getDeclaringClass(), processor.value(), TrackedValue.Builder.class);
+			this.sectionProcessor = processor == null ? null : findProcessor(field.getDeclaringClass(), processor.value(), Config.SectionBuilder.class);
+		}
+
+		private void create(ReflectiveConfigCreator<?> creator, Config.SectionBuilder builder, Object object) {
+			Object defaultValue;
+
+			try {
+				defaultValue = this.getter.invokeExact(object);
+			} catch (Error | RuntimeException e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new RuntimeException(t);
+			}
+
+			if (defaultValue instanceof TrackedValueImpl) {
+				creator.createValue(builder, (TrackedValueImpl<?>) defaultValue, this.name, delegateBuilder -> {
+					this.annotations.accept(delegateBuilder);
+
+					if (this.processorName != null) {
+						if (this.valueProcessor == null) {
+							throw new ConfigCreationException("Processor method '" + this.processorName + "' not found for config field '" + creator.creatorClass.getName() + "#" + this.name + "'.");
+						}
+
+						invokeProcessor(this.valueProcessor, this.processorName, object, delegateBuilder);
+					}
+				});
+			} else if (defaultValue instanceof ReflectiveConfig.Section) {
+				builder.section(this.name, b -> {
+					this.annotations.accept(b);
+
+					if (this.processorName != null) {
+						if (this.sectionProcessor == null) {
+							throw new ConfigCreationException("Processor method '" + this.processorName + "' not found for config section '" + creator.creatorClass.getName() + "#" + this.name + "'.");
+						}
+
+						invokeProcessor(this.sectionProcessor, this.processorName, object, b);
+					}
+
+					creator.createFields(b, defaultValue);
+				});
+			} else if (defaultValue == null) {
+				throw new ConfigFieldException("Default value for field '" + this.name + "' cannot be null");
+			} else {
+				throw new ConfigFieldException("Class '" + defaultValue.getClass().getName() + "' of field '" + this.name + "' "
+						+ "of config class '" + this.declaringClass + "'is not a valid config value: it must be a TrackedValue or implement org.quiltmc.loader.api.Config.Section");
+			}
+		}
+	}
+
+	/**
+	 * @return a handle taking the instance and builder as objects, or {@code null} if there is no such method
+	 */
+	private static MethodHandle findProcessor(Class<?> type, String name, Class<?> builderType) {
+		try {
+			Method method = type.getMethod(name, builderType);
+
+			method.setAccessible(true);
+
+			return LOOKUP.unreflect(method).asType(MethodType.methodType(void.class, Object.class, Object.class));
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (IllegalAccessException e) {
+			throw new ConfigCreationException(e);
+		}
+	}
 }
@@ -85,7 +85,7 @@ public TrackedValue<T> build() {
 			metadata.put(entry.getKey(), entry.getValue().build());
 		}
 
-		return new TrackedValueImpl<>(
+		return TrackedValueImpl.create(
 				new ValueKeyImpl(this.key.toArray(new String[0])),
 				this.defaultValue,
 				metadata,
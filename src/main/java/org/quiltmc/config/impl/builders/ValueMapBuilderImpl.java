@@ -18,6 +18,7 @@
 
 import org.quiltmc.config.api.values.TrackedValue;
 import org.quiltmc.config.api.values.ValueMap;
+import org.quiltmc.config.impl.util.CopyOnWriteMap;
 import org.quiltmc.config.impl.values.ValueMapImpl;
 
 import java.util.LinkedHashMap;
@@ -27,6 +28,7 @@
 public class ValueMapBuilderImpl<T> implements ValueMap.Builder<T> {
 	private final T defaultValue;
 	private final Map<String, T> values = new LinkedHashMap<>();
+	private boolean copyOnWrite;
 
 	public ValueMapBuilderImpl(T defaultValue) {
 		this.defaultValue = defaultValue;
@@ -39,9 +41,16 @@ public ValueMap.Builder<T> put(String key, T value) {
 		return this;
 	}
 
+	@Override
+	public ValueMap.Builder<T> copyOnWrite() {
+		this.copyOnWrite = true;
+
+		return this;
+	}
+
 	@Override
 	public ValueMap<T> build() {
-		return new ValueMapImpl<>(this.defaultValue, this.values);
+		return new ValueMapImpl<>(this.defaultValue, this.copyOnWrite ? new CopyOnWriteMap<>(this.values) : this.values);
 	}
 
 	public static class TrackedValueMapBuilderImpl<T> implements ValueMap.TrackedBuilder<T> {
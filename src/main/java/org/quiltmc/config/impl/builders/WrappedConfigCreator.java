@@ -25,13 +25,19 @@
 import org.quiltmc.config.impl.util.ConfigUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
 
 @Deprecated
 public class WrappedConfigCreator<C> implements Config.Creator {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
 	private final Class<C> creatorClass;
 	private C instance;
 
@@ -52,16 +58,9 @@ private void createField(Config.SectionBuilder builder, Object object, Field fie
 			Object defaultValue = field.get(object);
 
 			if (ConfigUtils.isValidValue(defaultValue)) {
+				Consumer<Object> setter = fieldSetter(field, object);
 				TrackedValue<?> value = TrackedValue.create(defaultValue, field.getName(), valueBuilder -> {
-					field.setAccessible(true);
-
-					valueBuilder.callback(tracked -> {
-						try {
-							field.set(object, tracked.value());
-						} catch (IllegalAccessException e) {
-							throw new RuntimeException(e);
-						}
-					});
+					valueBuilder.callback(tracked -> setter.accept(tracked.value()));
 
 					for (Annotation annotation : field.getAnnotations()) {
 						ConfigFieldAnnotationProcessors.applyAnnotationProcessors(annotation, valueBuilder);
@@ -82,7 +81,7 @@ private void createField(Config.SectionBuilder builder, Object object, Field fie
 					}
 				});
 
-				field.set(object, value.getRealValue());
+				setter.accept(value.getRealValue());
 				builder.field(value);
 			} else if (defaultValue instanceof Config.Section) {
 				builder.section(field.getName(), b -> {
@@ -108,6 +107,41 @@ private void createField(Config.SectionBuilder builder, Object object, Field fie
 		}
 	}
 
+	/**
+	 * Resolves the write access to a field once, so that keeping it in sync with its value doesn't go through
+	 * reflection on every update.
+	 *
+	 * @return sets the field of the given object to the value it is passed
+	 */
+	private static Consumer<Object> fieldSetter(Field field, Object object) {
+		field.setAccessible(true);
+
+		MethodHandle setter;
+
+		try {
+			setter = LOOKUP.unreflectSetter(field).bindTo(object).asType(MethodType.methodType(void.class, Object.class));
+		} catch (IllegalAccessException e) {
+			// Final fields can't always be written through method handles
+			return value -> {
+				try {
+					field.set(object, value);
+				} catch (IllegalAccessException e1) {
+					throw new RuntimeException(e1);
+				}
+			};
+		}
+
+		return value -> {
+			try {
+				setter.invokeExact(value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new RuntimeException(t);
+			}
+		};
+	}
+
 	public void create(Config.Builder builder) {
 		if (this.instance != null) {
 			throw new ConfigCreationException("Reflective config creator used more than once");
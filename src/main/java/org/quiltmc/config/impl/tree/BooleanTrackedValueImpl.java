@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.impl.tree;
+
+import org.quiltmc.config.api.Constraint;
+import org.quiltmc.config.api.metadata.MetadataType;
+import org.quiltmc.config.api.values.BooleanTrackedValue;
+import org.quiltmc.config.api.values.ValueKey;
+
+import java.util.List;
+import java.util.Map;
+
+public final class BooleanTrackedValueImpl extends TrackedValueImpl<Boolean> implements BooleanTrackedValue {
+	public BooleanTrackedValueImpl(ValueKey key, Boolean defaultValue, Map<MetadataType<?, ?>, Object> metadata, List<UpdateCallback<Boolean>> callbacks, List<Constraint<Boolean>> constraints) {
+		super(key, defaultValue, metadata, callbacks, constraints, value -> value ? 1 : 0);
+	}
+
+	@Override
+	public boolean getBoolean() {
+		return this.bits() != 0;
+	}
+
+	@Override
+	public boolean setBoolean(boolean newValue, boolean serialize) {
+		List<Constraint<Boolean>> constraints = this.constraints;
+
+		for (int i = 0, size = constraints.size(); i < size; i++) {
+			if (!constraints.get(i).isValid(newValue)) {
+				this.reportFailingConstraints(newValue);
+				break;
+			}
+		}
+
+		return this.setValidValue(newValue, serialize);
+	}
+}
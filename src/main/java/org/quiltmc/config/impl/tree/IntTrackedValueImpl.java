@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.impl.tree;
+
+import org.quiltmc.config.api.Constraint;
+import org.quiltmc.config.api.metadata.MetadataType;
+import org.quiltmc.config.api.values.IntTrackedValue;
+import org.quiltmc.config.api.values.ValueKey;
+
+import java.util.List;
+import java.util.Map;
+
+public final class IntTrackedValueImpl extends TrackedValueImpl<Integer> implements IntTrackedValue {
+	public IntTrackedValueImpl(ValueKey key, Integer defaultValue, Map<MetadataType<?, ?>, Object> metadata, List<UpdateCallback<Integer>> callbacks, List<Constraint<Integer>> constraints) {
+		super(key, defaultValue, metadata, callbacks, constraints, Integer::longValue);
+	}
+
+	@Override
+	public int getInt() {
+		return (int) this.bits();
+	}
+
+	@Override
+	public int setInt(int newValue, boolean serialize) {
+		List<Constraint<Integer>> constraints = this.constraints;
+
+		for (int i = 0, size = constraints.size(); i < size; i++) {
+			Constraint<Integer> constraint = constraints.get(i);
+			boolean valid = constraint instanceof Constraint.Range ? ((Constraint.Range<Integer>) constraint).contains(newValue) : constraint.isValid(newValue);
+
+			if (!valid) {
+				this.reportFailingConstraints(newValue);
+				break;
+			}
+		}
+
+		return this.setValidValue(newValue, serialize);
+	}
+}
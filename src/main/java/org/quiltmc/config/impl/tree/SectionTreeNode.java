@@ -25,9 +25,11 @@
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class SectionTreeNode extends AbstractMetadataContainer implements ValueTreeNode.Section {
 	private final Trie.Node node;
+	private final AtomicLong version = new AtomicLong();
 
 	public SectionTreeNode(Trie.Node node, Map<MetadataType<?, ?>, Object> metadata) {
 		super(metadata);
@@ -39,14 +41,21 @@ public ValueKey key() {
 		return this.node.getKey();
 	}
 
+	@Override
+	public long version() {
+		return this.version.get();
+	}
+
+	public void incrementVersion() {
+		this.version.incrementAndGet();
+	}
+
 	@Override
 	public void propagateInheritedMetadata(Map<MetadataType<?, ?>, Object> inheritedMetadata) {
-		for (Map.Entry<MetadataType<?, ?>, Object> entry: inheritedMetadata.entrySet()) {
-			this.metadata.putIfAbsent(entry.getKey(), entry.getValue());
-		}
+		this.putMetadataIfAbsent(inheritedMetadata);
 
 		Map<MetadataType<?, ?>, Object> inheritorMetadata = new LinkedHashMap<>();
-		for (Map.Entry<MetadataType<?, ?>, Object> entry: this.metadata.entrySet()) {
+		for (Map.Entry<MetadataType<?, ?>, Object> entry: this.metadata().entrySet()) {
 			if (entry.getKey().isInherited()) {
 				inheritorMetadata.put(entry.getKey(), entry.getValue());
 			}
@@ -17,6 +17,7 @@
 package org.quiltmc.config.impl.tree;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.quiltmc.config.api.Constraint;
 import org.quiltmc.config.api.exceptions.TrackedValueException;
 import org.quiltmc.config.api.metadata.MetadataType;
@@ -27,29 +28,50 @@
 import org.quiltmc.config.impl.ConfigImpl;
 import org.quiltmc.config.impl.util.ImmutableIterable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
-public final class TrackedValueImpl<T> extends AbstractMetadataContainer implements TrackedValue<T> {
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+public class TrackedValueImpl<T> extends AbstractMetadataContainer implements TrackedValue<T> {
 	public List<UpdateCallback<T>> callbacks;
 	public List<Constraint<T>> constraints;
 	private final T defaultValue;
 
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<TrackedValueImpl, State> STATE = AtomicReferenceFieldUpdater.newUpdater(TrackedValueImpl.class, State.class, "state");
+
 	private ValueKey key;
 	private ConfigImpl config;
-	private T value;
+	private volatile State<T> state;
+	// Created on first use, guarded by this
+	private MutableCallSite getterSite;
+	private volatile MethodHandle getter;
 
-	private boolean isBeingOverridden = false;
-	private T valueOverride;
+	public TrackedValueImpl(ValueKey key, T defaultValue, Map<MetadataType<?, ?>, Object> metadata, List<UpdateCallback<T>> callbacks, List<Constraint<T>> constraints) {
+		this(key, defaultValue, metadata, callbacks, constraints, null);
+	}
 
+	/**
+	 * @param bits converts the values of a primitive value to the raw bits returned by {@link #bits()}, or
+	 *             {@code null} for any other value
+	 */
 	@SuppressWarnings("unchecked")
-	public TrackedValueImpl(ValueKey key, T defaultValue, Map<MetadataType<?, ?>, Object> metadata, List<UpdateCallback<T>> callbacks, List<Constraint<T>> constraints) {
+	TrackedValueImpl(ValueKey key, T defaultValue, Map<MetadataType<?, ?>, Object> metadata, List<UpdateCallback<T>> callbacks, List<Constraint<T>> constraints, @Nullable ToLongFunction<T> bits) {
 		super(metadata);
 		this.key = key;
 		this.defaultValue = defaultValue;
-		this.value = defaultValue;
 		this.callbacks = callbacks;
 		this.constraints = constraints;
 
@@ -57,18 +79,56 @@ public TrackedValueImpl(ValueKey key, T defaultValue, Map<MetadataType<?, ?>, Ob
 
 		if (defaultValue instanceof ComplexConfigValue) {
 			((ComplexConfigValue) defaultValue).setValue(this);
-			this.value = (T) ((ComplexConfigValue) this.defaultValue).copy();
+			this.state = new State<>((T) ((ComplexConfigValue) this.defaultValue).copy(), false, null, 0);
+		} else if (bits != null) {
+			this.state = new PrimitiveState<>(bits, defaultValue, false, null, 0);
 		} else {
-			this.value = defaultValue;
+			this.state = new State<>(defaultValue, false, null, 0);
 		}
 	}
 
+	/**
+	 * Creates a value, specialized for primitives where possible.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static <T> TrackedValueImpl<T> create(ValueKey key, T defaultValue, Map<MetadataType<?, ?>, Object> metadata, List<UpdateCallback<T>> callbacks, List<Constraint<T>> constraints) {
+		if (defaultValue instanceof Integer) {
+			return (TrackedValueImpl<T>) new IntTrackedValueImpl(key, (Integer) defaultValue, metadata, (List) callbacks, (List) constraints);
+		} else if (defaultValue instanceof Long) {
+			return (TrackedValueImpl<T>) new LongTrackedValueImpl(key, (Long) defaultValue, metadata, (List) callbacks, (List) constraints);
+		} else if (defaultValue instanceof Float) {
+			return (TrackedValueImpl<T>) new FloatTrackedValueImpl(key, (Float) defaultValue, metadata, (List) callbacks, (List) constraints);
+		} else if (defaultValue instanceof Double) {
+			return (TrackedValueImpl<T>) new DoubleTrackedValueImpl(key, (Double) defaultValue, metadata, (List) callbacks, (List) constraints);
+		} else if (defaultValue instanceof Boolean) {
+			return (TrackedValueImpl<T>) new BooleanTrackedValueImpl(key, (Boolean) defaultValue, metadata, (List) callbacks, (List) constraints);
+		}
+
+		return new TrackedValueImpl<>(key, defaultValue, metadata, callbacks, constraints);
+	}
+
 	public void setConfig(ConfigImpl config) {
 		if (this.config != null) {
 			throw new TrackedValueException("TrackedValue '" + this.key + "' cannot be assigned to multiple configs");
 		}
 
 		this.config = config;
+
+		// Callbacks may be registered while others are being invoked from another thread from now on
+		this.callbacks = new CopyOnWriteArrayList<>(this.callbacks);
+	}
+
+	/**
+	 * Detaches this value from the given config, if it is still assigned to it.
+	 */
+	public void unsetConfig(ConfigImpl config) {
+		if (this.config == config) {
+			this.config = null;
+		}
+	}
+
+	public ConfigImpl getConfig() {
+		return this.config;
 	}
 
 	public TrackedValueImpl<T> setKey(ValueKey key) {
@@ -84,27 +144,101 @@ public ValueKey key() {
 
 	@Override
 	public void propagateInheritedMetadata(Map<MetadataType<?, ?>, Object> inheritedMetadata) {
-		for (Map.Entry<MetadataType<?, ?>, Object> entry: inheritedMetadata.entrySet()) {
-			this.metadata.putIfAbsent(entry.getKey(), entry.getValue());
-		}
+		this.putMetadataIfAbsent(inheritedMetadata);
 	}
 
 	@Override
 	public T value() {
-		return this.isBeingOverridden ? this.valueOverride : this.value;
+		State<T> state = this.state;
+
+		return state.overridden ? state.override : state.value;
+	}
+
+	@Override
+	public long version() {
+		return this.state.version;
+	}
+
+	@Override
+	public MethodHandle getter() {
+		MethodHandle getter = this.getter;
+
+		if (getter == null) {
+			synchronized (this) {
+				if (this.getter == null) {
+					T value = this.value();
+					this.getterSite = new MutableCallSite(MethodHandles.constant(Object.class, value));
+					this.getter = this.getterSite.dynamicInvoker();
+
+					// A change made before the getter was published didn't see it, so it has to be caught up with here
+					if (this.value() != value) {
+						this.updateGetter();
+					}
+				}
+
+				getter = this.getter;
+			}
+		}
+
+		return getter;
+	}
+
+	private synchronized void updateGetter() {
+		// Always reads the latest state, so that concurrent changes can't leave an outdated value behind
+		this.getterSite.setTarget(MethodHandles.constant(Object.class, this.value()));
+		MutableCallSite.syncAll(new MutableCallSite[] {this.getterSite});
+	}
+
+	/**
+	 * @return the current value of this primitive value, as raw bits that subclasses convert back without unboxing
+	 */
+	final long bits() {
+		return ((PrimitiveState<T>) this.state).bits;
 	}
 
 	@Override
 	public boolean isBeingOverridden() {
-		return this.isBeingOverridden;
+		return this.state.overridden;
 	}
 
 	@Override
 	public T getRealValue() {
-		return this.value;
+		return this.state.value;
 	}
 
-	private void assertValue(T value) {
+	void assertValue(T value) {
+		if (this.isValid(value)) {
+			return;
+		}
+
+		this.reportFailingConstraints(value);
+	}
+
+	/**
+	 * Checks a value without building any error messages.
+	 *
+	 * @return whether {@link #checkForFailingConstraints} would find no errors
+	 */
+	public boolean isValid(T value) {
+		if (value == null) {
+			return false;
+		}
+
+		List<Constraint<T>> constraints = this.constraints;
+
+		for (int i = 0, size = constraints.size(); i < size; i++) {
+			if (!constraints.get(i).isValid(value)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Throws an exception describing every constraint the given value fails, if any.
+	 */
+	void reportFailingConstraints(T value) {
 		Optional<Iterable<String>> errors = this.checkForFailingConstraints(value);
 
 		if (errors.isPresent()) {
@@ -122,42 +256,82 @@ private void assertValue(T value) {
 	public T setValue(@NotNull T newValue, boolean serialize) {
 		this.assertValue(newValue);
 
+		return this.setValidValue(newValue, serialize);
+	}
+
+	/**
+	 * Sets a value that has already been checked against all constraints.
+	 */
+	final T setValidValue(T newValue, boolean serialize) {
 		if (newValue instanceof ComplexConfigValue) {
 			((ComplexConfigValue) newValue).setValue(this);
 		}
 
-		T oldValue = this.value;
-		this.value = newValue;
+		State<T> oldState = this.update(state -> state.next(newValue, state.overridden, state.override));
 
 		if (serialize) {
-			this.config.save();
+			this.config.requestSave();
 		}
 
-		if (!this.isBeingOverridden()) {
+		// Values that are set to what they already were are left out of batches, so that reloads only report changes
+		if (!oldState.overridden && !(this.config.isBatching() && Objects.equals(oldState.value, newValue))) {
 			this.invokeCallbacks();
 		}
 
-		return oldValue;
+		return oldState.value;
 	}
 
 	@Override
 	public void setOverride(T newValue) {
 		this.assertValue(newValue);
 
-		this.isBeingOverridden = true;
-		this.valueOverride = newValue;
+		this.update(state -> state.next(state.value, true, newValue));
 
 		this.invokeCallbacks();
 	}
 
 	@Override
 	public void removeOverride() {
-		this.isBeingOverridden = false;
-		this.valueOverride = null;
+		this.update(state -> state.next(state.value, false, null));
 
 		this.invokeCallbacks();
 	}
 
+	/**
+	 * Atomically replaces the state of this value.
+	 *
+	 * @return the replaced state
+	 */
+	@SuppressWarnings("unchecked")
+	private State<T> update(UnaryOperator<State<T>> update) {
+		State<T> current;
+		State<T> next;
+		boolean changed = false;
+
+		if (this.config != null) {
+			this.config.beginChange();
+		}
+
+		try {
+			do {
+				current = this.state;
+				next = update.apply(current);
+			} while (!STATE.compareAndSet(this, current, next));
+
+			changed = next.version != current.version;
+		} finally {
+			if (this.config != null) {
+				this.config.endChange(this, changed);
+			}
+		}
+
+		if (changed && this.getter != null) {
+			this.updateGetter();
+		}
+
+		return current;
+	}
+
 	@Override
 	public T getDefaultValue() {
 		return this.defaultValue;
@@ -204,26 +378,139 @@ public Optional<Iterable<String>> checkForFailingConstraints(T value) {
 
 	@Override
 	public void invokeCallbacks() {
-		this.config.invokeCallbacks();
+		if (this.config.deferCallbacks(this)) {
+			return;
+		}
 
+		this.config.dispatchCallbacks(this, () -> {
+			this.config.invokeCallbacks(Collections.singleton(this.key));
+			this.invokeValueCallbacks();
+		}, true);
+	}
+
+	public void invokeValueCallbacks() {
 		for (UpdateCallback<T> callback : this.callbacks) {
 			callback.onUpdate(this);
 		}
 	}
 
-	@Override
-	public void serializeAndInvokeCallbacks() {
-		this.config.save();
+	/**
+	 * Modifies the value in place, such as by adding to a list, without letting a snapshot be taken in the middle of
+	 * it. The value is saved and its callbacks invoked afterwards if the modification changed anything.
+	 *
+	 * @param changed decides from the result of the modification whether it changed anything
+	 * @return the result of the modification
+	 */
+	public <R> R modify(Supplier<R> modification, Predicate<? super R> changed) {
+		R result;
+		boolean modified;
 
-		this.config.invokeCallbacks();
+		if (this.config != null) {
+			this.config.beginChange();
+		}
 
-		for (UpdateCallback<T> callback : this.callbacks) {
-			callback.onUpdate(this);
+		try {
+			result = modification.get();
+			modified = changed.test(result);
+
+			if (modified) {
+				this.update(state -> state.with(state.value, state.overridden, state.override, state.version + 1));
+			}
+		} finally {
+			if (this.config != null) {
+				this.config.endChange(this, false);
+			}
+		}
+
+		if (modified) {
+			if (this.config != null) {
+				this.config.requestSave();
+			}
+
+			this.invokeCallbacks();
 		}
+
+		return result;
+	}
+
+	/**
+	 * Modifies the value in place as in {@link #modify(Supplier, Predicate)}, always counting as a change.
+	 */
+	public void modify(Runnable modification) {
+		this.modify(() -> {
+			modification.run();
+
+			return null;
+		}, result -> true);
+	}
+
+	@Override
+	public void serializeAndInvokeCallbacks() {
+		// The value was modified in place, so there is nothing to compare
+		this.update(state -> state.with(state.value, state.overridden, state.override, state.version + 1));
+		this.config.requestSave();
+
+		this.invokeCallbacks();
 	}
 
 	@Override
 	public String toString() {
-		return String.format("TrackedValueImpl[%s]", this.value.toString());
+		return String.format("TrackedValueImpl[%s]", this.getRealValue().toString());
+	}
+
+	/**
+	 * Everything a reader needs to know to resolve a value, published as a unit so that readers never observe half of
+	 * an update.
+	 */
+	private static class State<T> {
+		private final T value;
+		private final boolean overridden;
+		private final T override;
+		private final long version;
+
+		private State(T value, boolean overridden, T override, long version) {
+			this.value = value;
+			this.overridden = overridden;
+			this.override = override;
+			this.version = version;
+		}
+
+		/**
+		 * @return a state of the same kind as this one
+		 */
+		State<T> with(T value, boolean overridden, T override, long version) {
+			return new State<>(value, overridden, override, version);
+		}
+
+		/**
+		 * @return the state following this one, with a new version only if anything actually changed
+		 */
+		private State<T> next(T value, boolean overridden, T override) {
+			boolean changed = overridden != this.overridden || !Objects.equals(value, this.value) || !Objects.equals(override, this.override);
+
+			return this.with(value, overridden, override, changed ? this.version + 1 : this.version);
+		}
+	}
+
+	/**
+	 * The state of a primitive value, which also holds its resolved value as raw bits so that it can be read without
+	 * unboxing.
+	 */
+	private static final class PrimitiveState<T> extends State<T> {
+		private final ToLongFunction<T> converter;
+		private final long bits;
+
+		private PrimitiveState(ToLongFunction<T> converter, T value, boolean overridden, T override, long version) {
+			super(value, overridden, override, version);
+			this.converter = converter;
+
+			T resolved = overridden ? override : value;
+			this.bits = resolved == null ? 0 : converter.applyAsLong(resolved);
+		}
+
+		@Override
+		State<T> with(T value, boolean overridden, T override, long version) {
+			return new PrimitiveState<>(this.converter, value, overridden, override, version);
+		}
 	}
 }
@@ -26,6 +26,7 @@
 import java.util.ArrayDeque;
 import java.util.ConcurrentModificationException;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -38,6 +39,9 @@
 public final class Trie {
 	private final Node root = new Node(null, null, null);
 
+	// Every node but the root by its full key, for lookups without walking the trie
+	private final Map<ValueKey, Node> index = new HashMap<>();
+
 	private int modCount;
 
 	public Iterable<ValueTreeNode> leaves() {
@@ -109,14 +113,29 @@ public TrackedValue<?> get(Iterable<String> key) {
 		return (TrackedValue<?>) this.getNode(key);
 	}
 
+	/**
+	 * Looks up the node at the given key without modifying this trie.
+	 *
+	 * @return the node at the given key, or {@code null} if there is none
+	 */
 	public ValueTreeNode getNode(Iterable<String> key) {
-		Node node = this.root;
+		Node node;
+
+		if (key instanceof ValueKeyImpl) {
+			node = this.index.get(key);
+		} else {
+			node = this.root;
 
-		for (String k : key) {
-			node = node.getOrCreateChild(k);
+			for (String k : key) {
+				node = node.getChild(k);
+
+				if (node == null) {
+					break;
+				}
+			}
 		}
 
-		return node.getValue();
+		return node == null ? null : node.getValue();
 	}
 
 	private class LeafItr implements Iterator<ValueTreeNode> {
@@ -201,21 +220,26 @@ public Node getParent() {
 			return this.parent;
 		}
 
+		private Node getChild(String key) {
+			return this.children.get(key);
+		}
+
 		private Node getOrCreateChild(String key) {
-			if (this.children.containsKey(key)) {
-				return this.children.get(key);
-			} else {
+			Node child = this.children.get(key);
+
+			if (child == null) {
 				++Trie.this.modCount;
 
-				Node child = new Node(this, this.key == null
+				child = new Node(this, this.key == null
 						? new ValueKeyImpl(key)
 						: this.key.child(key)
 				);
 
 				this.children.put(key, child);
-
-				return child;
+				Trie.this.index.put(child.key, child);
 			}
+
+			return child;
 		}
 
 		public ValueTreeNode getValue() {
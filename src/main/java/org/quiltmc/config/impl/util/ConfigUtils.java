@@ -17,8 +17,11 @@
 package org.quiltmc.config.impl.util;
 
 import org.quiltmc.config.api.exceptions.TrackedValueException;
+import org.quiltmc.config.api.values.ComplexConfigValue;
 import org.quiltmc.config.api.values.CompoundConfigValue;
 import org.quiltmc.config.api.values.ConfigSerializableObject;
+import org.quiltmc.config.impl.values.ValueListImpl;
+import org.quiltmc.config.impl.values.ValueMapImpl;
 
 public final class ConfigUtils {
 	private static final Class<?>[] VALID_VALUE_CLASSES = new Class[] {
@@ -59,6 +62,21 @@ public static boolean isValidValue(Object object) {
 		}
 	}
 
+	/**
+	 * @return a copy of the given value that is unaffected by later changes to it
+	 */
+	public static Object immutableCopy(Object value) {
+		if (value instanceof ValueListImpl) {
+			return ((ValueListImpl<?>) value).immutableCopy();
+		} else if (value instanceof ValueMapImpl) {
+			return ((ValueMapImpl<?>) value).immutableCopy();
+		} else if (value instanceof ComplexConfigValue) {
+			return ((ComplexConfigValue) value).copy();
+		} else {
+			return value;
+		}
+	}
+
 	public static boolean isValidValueClass(Class<?> valueClass) {
 		if (valueClass.isEnum()) {
 			return true;
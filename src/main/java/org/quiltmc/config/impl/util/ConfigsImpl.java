@@ -25,19 +25,35 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
+/**
+ * The registry of all configs, sorted by family and ID.
+ *
+ * <p>Configs may be registered and looked up from any thread. Lookups never block, and iteration is weakly
+ * consistent: it never fails, and reflects configs registered concurrently either completely or not at all.
+ */
 public final class ConfigsImpl {
-	private static final Map<String, Map<String, Config>> CONFIGS = new TreeMap<>();
+	private static final ConcurrentMap<String, ConcurrentMap<String, Config>> CONFIGS = new ConcurrentSkipListMap<>();
 
 	private ConfigsImpl() {}
 
 	public static void put(String familyId, Config config) {
-		if (CONFIGS.containsKey(familyId) && CONFIGS.get(familyId).containsKey(config.id())) {
+		if (CONFIGS.computeIfAbsent(familyId, id -> new ConcurrentSkipListMap<>()).putIfAbsent(config.id(), config) != null) {
 			throw new ConfigCreationException("Config '" + familyId + ':' + config.id() + "' already exists");
 		}
+	}
+
+	/**
+	 * Unregisters the given config, if it is still registered.
+	 */
+	public static void remove(Config config) {
+		Map<String, Config> family = CONFIGS.get(config.family());
 
-		CONFIGS.computeIfAbsent(familyId, id -> new TreeMap<>()).put(config.id(), config);
+		if (family != null) {
+			family.remove(config.id(), config);
+		}
 	}
 
 	@TestOnly
@@ -50,11 +66,15 @@ public static Iterable<Config> getAll() {
 	}
 
 	public static Iterable<Config> getConfigs(String familyId) {
-		return new ImmutableIterable<>(CONFIGS.getOrDefault(familyId, Collections.emptyMap()).values());
+		Map<String, Config> family = CONFIGS.get(familyId);
+
+		return family == null ? Collections.emptyList() : new ImmutableIterable<>(family.values());
 	}
 
 	public static @Nullable Config getConfig(String familyId, String configId) {
-		return CONFIGS.getOrDefault(familyId, Collections.emptyMap()).get(configId);
+		Map<String, Config> family = CONFIGS.get(familyId);
+
+		return family == null ? null : family.get(configId);
 	}
 
 	private static @NotNull Iterator<Config> itr() {
@@ -62,27 +82,22 @@ public static Iterable<Config> getConfigs(String familyId) {
 	}
 
 	private static class AllConfigsIterator implements Iterator<Config> {
-		final Iterator<Map<String, Config>> itr1 = CONFIGS.values().iterator();
-		Iterator<Config> itr2;
+		final Iterator<ConcurrentMap<String, Config>> itr1 = CONFIGS.values().iterator();
+		Iterator<Config> itr2 = Collections.emptyIterator();
 
-		private AllConfigsIterator() {
-			if (this.itr1.hasNext()) {
+		@Override
+		public boolean hasNext() {
+			// Families are created before their first config is added, so one may still be empty
+			while (!this.itr2.hasNext() && this.itr1.hasNext()) {
 				this.itr2 = this.itr1.next().values().iterator();
-			} else {
-				this.itr2 = Collections.emptyIterator();
 			}
-		}
 
-		@Override
-		public boolean hasNext() {
-			return this.itr1.hasNext() || this.itr2.hasNext();
+			return this.itr2.hasNext();
 		}
 
 		@Override
 		public Config next() {
-			while (!this.itr2.hasNext() && this.itr1.hasNext()) {
-				this.itr2 = this.itr1.next().values().iterator();
-			}
+			this.hasNext();
 
 			return this.itr2.next();
 		}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.impl.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A list whose contents are replaced as a whole on every write, so that reads never lock or allocate and iterators
+ * see the list as it was when they were created.
+ *
+ * <p>Iterators and sub lists are read-only; use the mutators of the list itself or {@link #edit(Consumer)}.
+ */
+public final class CopyOnWriteList<T> extends AbstractList<T> implements RandomAccess {
+	private volatile List<T> root;
+
+	public CopyOnWriteList(Collection<? extends T> values) {
+		this.root = Collections.unmodifiableList(new ArrayList<>(values));
+	}
+
+	/**
+	 * @return the current contents, which never change
+	 */
+	public List<T> snapshot() {
+		return this.root;
+	}
+
+	/**
+	 * Applies any number of changes to a copy of this list, then publishes it as a whole.
+	 */
+	public synchronized <R> R mutate(Function<? super List<T>, R> mutator) {
+		List<T> copy = new ArrayList<>(this.root);
+		R result = mutator.apply(copy);
+
+		this.root = Collections.unmodifiableList(copy);
+
+		return result;
+	}
+
+	public void edit(Consumer<? super List<T>> editor) {
+		this.mutate(list -> {
+			editor.accept(list);
+
+			return null;
+		});
+	}
+
+	@Override
+	public T get(int index) {
+		return this.root.get(index);
+	}
+
+	@Override
+	public int size() {
+		return this.root.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.root.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return this.root.contains(o);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return this.root.indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return this.root.lastIndexOf(o);
+	}
+
+	@Override
+	public Object @NotNull [] toArray() {
+		return this.root.toArray();
+	}
+
+	@Override
+	public <A> A @NotNull [] toArray(A @NotNull [] a) {
+		return this.root.toArray(a);
+	}
+
+	@NotNull
+	@Override
+	public Iterator<T> iterator() {
+		return this.root.iterator();
+	}
+
+	@NotNull
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return this.root.listIterator(index);
+	}
+
+	@NotNull
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		return this.root.subList(fromIndex, toIndex);
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return this.root.spliterator();
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		this.root.forEach(action);
+	}
+
+	@Override
+	public T set(int index, T element) {
+		return this.mutate(list -> list.set(index, element));
+	}
+
+	@Override
+	public boolean add(T t) {
+		return this.mutate(list -> list.add(t));
+	}
+
+	@Override
+	public void add(int index, T element) {
+		this.edit(list -> list.add(index, element));
+	}
+
+	@Override
+	public T remove(int index) {
+		return this.mutate(list -> list.remove(index));
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return this.mutate(list -> list.remove(o));
+	}
+
+	@Override
+	public boolean addAll(@NotNull Collection<? extends T> c) {
+		return this.mutate(list -> list.addAll(c));
+	}
+
+	@Override
+	public boolean addAll(int index, @NotNull Collection<? extends T> c) {
+		return this.mutate(list -> list.addAll(index, c));
+	}
+
+	@Override
+	public boolean removeAll(@NotNull Collection<?> c) {
+		return this.mutate(list -> list.removeAll(c));
+	}
+
+	@Override
+	public boolean retainAll(@NotNull Collection<?> c) {
+		return this.mutate(list -> list.retainAll(c));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		return this.mutate(list -> list.removeIf(filter));
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<T> operator) {
+		this.edit(list -> list.replaceAll(operator));
+	}
+
+	@Override
+	public void sort(Comparator<? super T> c) {
+		this.edit(list -> list.sort(c));
+	}
+
+	@Override
+	public synchronized void clear() {
+		this.root = Collections.emptyList();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || this.root.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.root.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.root.toString();
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.impl.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An insertion-ordered map whose contents are replaced as a whole on every write, so that reads never lock or allocate
+ * and iteration sees the map as it was when it started.
+ *
+ * <p>Views of this map are read-only; use the mutators of the map itself or {@link #edit(Consumer)}.
+ */
+public final class CopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+	private volatile Map<K, V> root;
+
+	public CopyOnWriteMap(Map<? extends K, ? extends V> values) {
+		this.root = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+	}
+
+	/**
+	 * @return the current contents, which never change
+	 */
+	public Map<K, V> snapshot() {
+		return this.root;
+	}
+
+	/**
+	 * Applies any number of changes to a copy of this map, then publishes it as a whole.
+	 */
+	public synchronized <R> R mutate(Function<? super Map<K, V>, R> mutator) {
+		Map<K, V> copy = new LinkedHashMap<>(this.root);
+		R result = mutator.apply(copy);
+
+		this.root = Collections.unmodifiableMap(copy);
+
+		return result;
+	}
+
+	public void edit(Consumer<? super Map<K, V>> editor) {
+		this.mutate(map -> {
+			editor.accept(map);
+
+			return null;
+		});
+	}
+
+	@Override
+	public int size() {
+		return this.root.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.root.isEmpty();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.root.containsKey(key);
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return this.root.containsValue(value);
+	}
+
+	@Override
+	public V get(Object key) {
+		return this.root.get(key);
+	}
+
+	@Override
+	public V getOrDefault(Object key, V defaultValue) {
+		return this.root.getOrDefault(key, defaultValue);
+	}
+
+	@NotNull
+	@Override
+	public Set<K> keySet() {
+		return this.root.keySet();
+	}
+
+	@NotNull
+	@Override
+	public Collection<V> values() {
+		return this.root.values();
+	}
+
+	@NotNull
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return this.root.entrySet();
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		this.root.forEach(action);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		return this.mutate(map -> map.put(key, value));
+	}
+
+	@Override
+	public V remove(Object key) {
+		return this.mutate(map -> map.remove(key));
+	}
+
+	@Override
+	public void putAll(@NotNull Map<? extends K, ? extends V> m) {
+		this.edit(map -> map.putAll(m));
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		return this.mutate(map -> map.putIfAbsent(key, value));
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		return this.mutate(map -> map.computeIfAbsent(key, mappingFunction));
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		return this.mutate(map -> map.compute(key, remappingFunction));
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		return this.mutate(map -> map.merge(key, value, remappingFunction));
+	}
+
+	@Override
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+		this.edit(map -> map.replaceAll(function));
+	}
+
+	@Override
+	public synchronized void clear() {
+		this.root = Collections.emptyMap();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || this.root.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.root.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.root.toString();
+	}
+}
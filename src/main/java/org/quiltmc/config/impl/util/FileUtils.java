@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.impl.util;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class FileUtils {
+	private FileUtils() {
+	}
+
+	/**
+	 * Replaces the contents of a file without ever leaving it partially written.
+	 *
+	 * <p>The new contents are written to a temporary file next to the target, which is then moved over the target,
+	 * atomically where the file system supports it. A symbolic link is followed, so that the file it points to is
+	 * replaced rather than the link, and the permissions and owner of an existing file are kept.
+	 *
+	 * @param path the file to write
+	 * @param sync whether to force the new contents to the storage device before replacing the target
+	 * @param writer writes the new contents, may close the stream it is given
+	 */
+	public static void writeAtomically(Path path, boolean sync, StreamWriter writer) throws IOException {
+		Path target = Files.exists(path) ? path.toRealPath() : path;
+		Path directory = target.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+
+		Path temp = createTempFile(target);
+
+		try {
+			copyAttributes(target, temp);
+
+			try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+				OutputStream out = new BufferedOutputStream(new UncloseableOutputStream(file));
+
+				writer.write(out);
+				out.flush();
+
+				if (sync) {
+					file.getFD().sync();
+				}
+			}
+
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+
+		if (sync) {
+			syncDirectory(directory);
+		}
+	}
+
+	// Unlike Files.createTempFile, this leaves the permissions of new files up to the platform's defaults
+	private static Path createTempFile(Path path) throws IOException {
+		while (true) {
+			Path temp = path.resolveSibling(path.getFileName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+
+			try {
+				return Files.createFile(temp);
+			} catch (FileAlreadyExistsException ignored) {
+			}
+		}
+	}
+
+	private static void copyAttributes(Path source, Path target) throws IOException {
+		PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+		PosixFileAttributeView targetView = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+
+		if (sourceView == null || targetView == null || !Files.exists(source)) {
+			return;
+		}
+
+		PosixFileAttributes attributes = sourceView.readAttributes();
+		targetView.setPermissions(attributes.permissions());
+
+		// Only privileged users may hand files to others, in which case the file simply stays with its writer
+		try {
+			targetView.setOwner(attributes.owner());
+			targetView.setGroup(attributes.group());
+		} catch (IOException ignored) {
+		}
+	}
+
+	private static void syncDirectory(Path directory) {
+		// Persists the rename itself; not every platform can open a directory, in which case there's nothing to do
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException ignored) {
+		}
+	}
+
+	@FunctionalInterface
+	public interface StreamWriter {
+		void write(OutputStream out) throws IOException;
+	}
+
+	/**
+	 * Keeps serializers from closing the file before it has been synced.
+	 */
+	private static final class UncloseableOutputStream extends FilterOutputStream {
+		private UncloseableOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.flush();
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.impl.util;
+
+import org.quiltmc.config.impl.ConfigImpl;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces config saves and writes them from a background thread.
+ *
+ * <p>A config marked dirty is written once it has not been changed for the quiet period, or once the max delay has
+ * passed since its first unsaved change, whichever comes first.
+ */
+public final class SaveScheduler {
+	private final long quietPeriodNanos;
+	private final long maxDelayNanos;
+	private final ScheduledExecutorService executor;
+	private final Thread shutdownHook;
+	private final Map<ConfigImpl, PendingSave> pending = new IdentityHashMap<>();
+
+	public SaveScheduler(long quietPeriod, long maxDelay, TimeUnit unit) {
+		if (quietPeriod < 0 || maxDelay < quietPeriod) {
+			throw new IllegalArgumentException("Expected 0 <= quietPeriod <= maxDelay, got " + quietPeriod + " and " + maxDelay);
+		}
+
+		this.quietPeriodNanos = unit.toNanos(quietPeriod);
+		this.maxDelayNanos = unit.toNanos(maxDelay);
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Quilt Config Saver");
+
+			thread.setDaemon(true);
+
+			return thread;
+		});
+		this.shutdownHook = new Thread(this::flush, "Quilt Config Shutdown Saver");
+
+		Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+	}
+
+	/**
+	 * Marks the given config as having unsaved changes.
+	 */
+	public void markDirty(ConfigImpl config) {
+		long now = System.nanoTime();
+
+		synchronized (this.pending) {
+			// Checked under the lock, so that close() can't stop the executor between the check and scheduling
+			if (!this.executor.isShutdown()) {
+				PendingSave save = this.pending.get(config);
+
+				if (save == null) {
+					save = new PendingSave(config, now);
+					this.pending.put(config, save);
+					this.executor.schedule(save, this.quietPeriodNanos, TimeUnit.NANOSECONDS);
+				}
+
+				save.lastChange = now;
+
+				return;
+			}
+		}
+
+		config.save();
+	}
+
+	/**
+	 * Forgets any pending save of the given config, because it is about to be written anyway.
+	 */
+	public void cancel(ConfigImpl config) {
+		synchronized (this.pending) {
+			this.pending.remove(config);
+		}
+	}
+
+	/**
+	 * Writes every config with unsaved changes on the calling thread.
+	 */
+	public void flush() {
+		List<ConfigImpl> configs;
+
+		synchronized (this.pending) {
+			configs = new ArrayList<>(this.pending.keySet());
+			this.pending.clear();
+		}
+
+		for (ConfigImpl config : configs) {
+			config.save();
+		}
+	}
+
+	/**
+	 * Flushes all pending saves and stops the background thread.
+	 */
+	public void close() {
+		try {
+			Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+		} catch (IllegalStateException ignored) {
+			// Already shutting down, the hook takes care of flushing
+		}
+
+		synchronized (this.pending) {
+			this.executor.shutdownNow();
+		}
+
+		this.flush();
+	}
+
+	private final class PendingSave implements Runnable {
+		private final ConfigImpl config;
+		private final long firstChange;
+		private long lastChange;
+
+		private PendingSave(ConfigImpl config, long firstChange) {
+			this.config = config;
+			this.firstChange = firstChange;
+		}
+
+		@Override
+		public void run() {
+			synchronized (SaveScheduler.this.pending) {
+				if (SaveScheduler.this.pending.get(this.config) != this || SaveScheduler.this.executor.isShutdown()) {
+					// Flushed or cancelled in the meantime, or about to be flushed by close()
+					return;
+				}
+
+				long now = System.nanoTime();
+				long deadline = Math.min(this.lastChange + SaveScheduler.this.quietPeriodNanos, this.firstChange + SaveScheduler.this.maxDelayNanos);
+
+				if (deadline - now > 0) {
+					SaveScheduler.this.executor.schedule(this, deadline - now, TimeUnit.NANOSECONDS);
+
+					return;
+				}
+
+				SaveScheduler.this.pending.remove(this.config);
+			}
+
+			this.config.save();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.impl.util;
+
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.config.api.values.TrackedValue;
+import org.quiltmc.config.api.values.ValueKey;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A tree of every key a config's values can be read from, including aliases, so that deserializers can walk a parsed
+ * document once and look up the value each entry belongs to.
+ */
+public final class SerializedKeyIndex {
+	private final Map<String, SerializedKeyIndex> children = new HashMap<>(0);
+	private TrackedValue<?> value;
+	private int rank;
+
+	/**
+	 * @return the index of the entries nested under the given name, or {@code null} if no value can be read from there
+	 */
+	public @Nullable SerializedKeyIndex child(String name) {
+		return this.children.get(name);
+	}
+
+	/**
+	 * @return the value read from the entry at this position, or {@code null} if this position is a section
+	 */
+	public @Nullable TrackedValue<?> value() {
+		return this.value;
+	}
+
+	/**
+	 * Adds a key to this index.
+	 *
+	 * @param rank the position of the key among the {@linkplain SerializerUtils#getPossibleKeys possible keys} of the
+	 *             value, where 0 is its serialized name, which takes precedence over the aliases of other values
+	 */
+	public void put(ValueKey key, TrackedValue<?> value, int rank) {
+		SerializedKeyIndex index = this;
+
+		for (String component : key) {
+			index = index.children.computeIfAbsent(component, k -> new SerializedKeyIndex());
+		}
+
+		if (rank == 0 || index.value == null) {
+			index.value = value;
+			index.rank = rank;
+		}
+	}
+
+	/**
+	 * Decides which entry is read into a value when a document contains several of its keys, such as both its
+	 * serialized name and an alias. Like the possible keys are checked in order, the one that comes last wins,
+	 * regardless of where the entries are in the document.
+	 *
+	 * <p>Only valid for reading a single document.
+	 */
+	public static final class Precedence {
+		private final Map<TrackedValue<?>, Integer> ranks = new IdentityHashMap<>(0);
+
+		/**
+		 * @return whether the entry at the given position of the index should be read into its value
+		 */
+		public boolean shouldRead(SerializedKeyIndex index) {
+			Integer previous = this.ranks.get(index.value);
+
+			if (previous != null && previous > index.rank) {
+				return false;
+			}
+
+			this.ranks.put(index.value, index.rank);
+
+			return true;
+		}
+	}
+}
@@ -17,12 +17,16 @@
 package org.quiltmc.config.impl.util;
 
 import org.quiltmc.config.api.Config;
+import org.quiltmc.config.api.InternalsHelper;
+import org.quiltmc.config.api.ReflectiveConfig;
 import org.quiltmc.config.api.annotations.Alias;
 import org.quiltmc.config.api.annotations.SerializedName;
 import org.quiltmc.config.api.values.CompoundConfigValue;
 import org.quiltmc.config.api.annotations.SerializedNameConvention;
+import org.quiltmc.config.api.values.TrackedValue;
 import org.quiltmc.config.api.values.ValueKey;
 import org.quiltmc.config.api.values.ValueTreeNode;
+import org.quiltmc.config.impl.ConfigImpl;
 import org.quiltmc.config.impl.values.ValueKeyImpl;
 
 import java.util.ArrayList;
@@ -71,24 +75,36 @@ public static Optional<String> createEnumOptionsComment(Object defaultValue) {
 	 * including those resulting from {@link SerializedName} and {@link Alias}.
 	 */
 	public static List<ValueKey> getPossibleKeys(Config config, ValueTreeNode value) {
+		ConfigImpl impl = unwrap(config);
+
+		if (impl != null) {
+			List<ValueKey> possibleKeys = impl.getPossibleKeys(value);
+
+			if (possibleKeys != null) {
+				return possibleKeys;
+			}
+		}
+
+		return createPossibleKeys(getSerializedKey(config, value), value);
+	}
+
+	public static List<ValueKey> createPossibleKeys(ValueKey serializedKey, ValueTreeNode value) {
 		List<ValueKey> possibleKeys = new ArrayList<>();
 
 		// add default key
-		possibleKeys.add(SerializerUtils.getSerializedKey(config, value));
+		possibleKeys.add(serializedKey);
 
 		// add aliases
 		if (value.hasMetadata(Alias.TYPE)) {
 			for (String alias : value.metadata(Alias.TYPE)) {
-				List<String> aliasKey = new ArrayList<>();
-				for (int i = 0; i < value.key().length(); i++) {
-					if (i != value.key().length() - 1) {
-						aliasKey.add(value.key().getKeyComponent(i));
-					} else {
-						aliasKey.add(alias);
-					}
+				String[] aliasKey = new String[value.key().length()];
+
+				for (int i = 0; i < aliasKey.length - 1; i++) {
+					aliasKey[i] = value.key().getKeyComponent(i);
 				}
 
-				possibleKeys.add(new ValueKeyImpl(aliasKey.toArray(new String[0])));
+				aliasKey[aliasKey.length - 1] = alias;
+				possibleKeys.add(new ValueKeyImpl(aliasKey));
 			}
 		}
 
@@ -99,6 +115,16 @@ public static List<ValueKey> getPossibleKeys(Config config, ValueTreeNode value)
 	 * Gets the value's key, taking {@link SerializedName} into account. Should always be used when serializing and deserializing a config.
 	 */
 	public static ValueKey getSerializedKey(Config config, ValueTreeNode value) {
+		ConfigImpl impl = unwrap(config);
+
+		if (impl != null) {
+			ValueKey serializedKey = impl.getSerializedKey(value);
+
+			if (serializedKey != null) {
+				return serializedKey;
+			}
+		}
+
 		List<String> serializedKey = new ArrayList<>();
 		ValueKey key = value.key();
 
@@ -113,6 +139,40 @@ public static ValueKey getSerializedKey(Config config, ValueTreeNode value) {
 		return new ValueKeyImpl(serializedKey.toArray(new String[0]));
 	}
 
+	/**
+	 * Gets an index of every key the config's values may be read from. Deserializers should walk the entries of the
+	 * parsed document and look each of them up in the index, rather than searching the document for every value.
+	 */
+	public static SerializedKeyIndex getKeyIndex(Config config) {
+		ConfigImpl impl = unwrap(config);
+
+		if (impl != null) {
+			return impl.getKeyIndex();
+		}
+
+		SerializedKeyIndex index = new SerializedKeyIndex();
+
+		for (TrackedValue<?> value : config.values()) {
+			List<ValueKey> possibleKeys = getPossibleKeys(config, value);
+
+			for (int i = 0; i < possibleKeys.size(); i++) {
+				index.put(possibleKeys.get(i), value, i);
+			}
+		}
+
+		return index;
+	}
+
+	private static ConfigImpl unwrap(Config config) {
+		if (config instanceof ConfigImpl) {
+			return (ConfigImpl) config;
+		} else if (config instanceof ReflectiveConfig) {
+			return unwrap(InternalsHelper.getWrappedConfig((ReflectiveConfig) config));
+		} else {
+			return null;
+		}
+	}
+
 	public static String getSerializedName(ValueTreeNode value) {
 		if (value.hasMetadata(SerializedName.TYPE)) {
 			return value.metadata(SerializedName.TYPE).getName();
@@ -25,6 +25,7 @@
 public final class ValueKeyImpl implements ValueKey {
 	private final String string;
 	private final String[] keys;
+	private final int hash;
 
 	public ValueKeyImpl(String[] keys) {
 		if (keys.length == 0) {
@@ -46,6 +47,7 @@ public ValueKeyImpl(String[] keys) {
 		}
 
 		this.string = builder.toString();
+		this.hash = Arrays.hashCode(this.keys);
 	}
 
 	public ValueKeyImpl(String key0, String... keys) {
@@ -65,6 +67,7 @@ public ValueKeyImpl(String key0, String... keys) {
 		}
 
 		this.string = builder.toString();
+		this.hash = Arrays.hashCode(this.keys);
 	}
 
 	@Override
@@ -89,20 +92,12 @@ public boolean equals(Object obj) {
 
 		ValueKeyImpl other = (ValueKeyImpl) obj;
 
-		if (other.length() != this.length()) return false;
-
-		for (int i = 0; i < this.length(); ++i) {
-			if (!this.getKeyComponent(i).equals(other.getKeyComponent(i))) {
-				return false;
-			}
-		}
-
-		return true;
+		return other.hash == this.hash && Arrays.equals(other.keys, this.keys);
 	}
 
 	@Override
 	public int hashCode() {
-		return Arrays.hashCode(this.keys);
+		return this.hash;
 	}
 
 	@Override
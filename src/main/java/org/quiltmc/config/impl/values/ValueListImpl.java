@@ -22,15 +22,22 @@
 import org.quiltmc.config.api.values.CompoundConfigValue;
 import org.quiltmc.config.api.values.ValueList;
 import org.quiltmc.config.impl.tree.TrackedValueImpl;
+import org.quiltmc.config.impl.util.ConfigUtils;
+import org.quiltmc.config.impl.util.CopyOnWriteList;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Objects;
 import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 public final class ValueListImpl<T> implements ValueList<T>, CompoundConfigValue<T> {
@@ -57,13 +64,49 @@ public ValueList<T> copy() {
 			}
 		}
 
-		ValueListImpl<T> result = new ValueListImpl<>(this.defaultValue, values);
+		ValueListImpl<T> result = new ValueListImpl<>(this.defaultValue, this.isCopyOnWrite() ? new CopyOnWriteList<>(values) : values);
 
 		result.setValue(this.configValue);
 
 		return result;
 	}
 
+	/**
+	 * @return a deep copy of this list that cannot be modified
+	 */
+	@SuppressWarnings("unchecked")
+	public ValueListImpl<T> immutableCopy() {
+		if (this.isCopyOnWrite() && !(this.defaultValue instanceof ComplexConfigValue)) {
+			// Nothing in the current contents can change
+			return new ValueListImpl<>(this.defaultValue, ((CopyOnWriteList<T>) this.values).snapshot());
+		}
+
+		List<T> values = new ArrayList<>(this.values.size());
+
+		for (T value : this.values) {
+			values.add((T) ConfigUtils.immutableCopy(value));
+		}
+
+		return new ValueListImpl<>(this.defaultValue, Collections.unmodifiableList(values));
+	}
+
+	@Override
+	public boolean isCopyOnWrite() {
+		return this.values instanceof CopyOnWriteList;
+	}
+
+	private <R> R modify(Supplier<R> modification, Predicate<? super R> changed) {
+		// Unbound values, such as snapshot copies, have no config to lock or notify
+		return this.configValue == null ? modification.get() : this.configValue.modify(modification, changed);
+	}
+
+	private void modify(Runnable modification) {
+		this.modify(() -> {
+			modification.run();
+			return null;
+		}, result -> true);
+	}
+
 	@Override
 	public void setValue(TrackedValue<?> configValue) {
 		this.configValue = (TrackedValueImpl<?>) configValue;
@@ -124,22 +167,12 @@ public Iterator<T> iterator() {
 
 	@Override
 	public boolean add(T t) {
-		this.values.add(t);
-
-		this.configValue.serializeAndInvokeCallbacks();
-
-		return true;
+		return this.modify(() -> this.values.add(t), added -> added);
 	}
 
 	@Override
 	public boolean remove(Object o) {
-		boolean r = this.values.remove(o);
-
-		if (r) {
-			this.configValue.serializeAndInvokeCallbacks();
-		}
-
-		return r;
+		return this.modify(() -> this.values.remove(o), removed -> removed);
 	}
 
 	@Override
@@ -149,70 +182,57 @@ public boolean containsAll(@NotNull Collection<?> c) {
 
 	@Override
 	public boolean addAll(@NotNull Collection<? extends T> c) {
-		boolean v = this.values.addAll(c);
-
-		if (v) {
-			this.configValue.serializeAndInvokeCallbacks();
-		}
-
-		return v;
+		return this.modify(() -> this.values.addAll(c), changed -> changed);
 	}
 
 	@Override
 	public boolean addAll(int index, @NotNull Collection<? extends T> c) {
-		boolean v = this.values.addAll(index, c);
-
-		if (v) {
-			this.configValue.serializeAndInvokeCallbacks();
-		}
-
-		return v;
+		return this.modify(() -> this.values.addAll(index, c), changed -> changed);
 	}
 
 	@Override
 	public boolean removeAll(@NotNull Collection<?> c) {
-		boolean v = this.values.removeAll(c);
-
-		if (v) {
-			this.configValue.serializeAndInvokeCallbacks();
-		}
-
-		return v;
+		return this.modify(() -> this.values.removeAll(c), changed -> changed);
 	}
 
 	@Override
 	public boolean retainAll(@NotNull Collection<?> c) {
-		boolean v = this.values.retainAll(c);
-
-		if (v) {
-			this.configValue.serializeAndInvokeCallbacks();
-		}
-
-		return v;
+		return this.modify(() -> this.values.retainAll(c), changed -> changed);
 	}
 
 	@Override
 	public void replaceAll(UnaryOperator<T> operator) {
-		this.values.replaceAll(operator);
-
-		this.configValue.serializeAndInvokeCallbacks();
+		this.modify(() -> this.values.replaceAll(operator));
 	}
 
 	@Override
 	public void sort(Comparator<? super T> c) {
-		this.values.sort(c);
+		this.modify(() -> this.values.sort(c));
+	}
 
-		this.configValue.serializeAndInvokeCallbacks();
+	@Override
+	public void edit(Consumer<? super List<T>> editor) {
+		this.modify(() -> {
+			if (this.values instanceof CopyOnWriteList) {
+				((CopyOnWriteList<T>) this.values).edit(editor);
+			} else {
+				editor.accept(this.values);
+			}
+
+			// Bind any complex values added by the editor
+			this.setValue(this.configValue);
+		});
 	}
 
 	@Override
 	public void clear() {
-		if (this.isEmpty()) {
-			this.values.clear();
-		} else {
+		this.modify(() -> {
+			boolean changed = !this.values.isEmpty();
+
 			this.values.clear();
-			this.configValue.serializeAndInvokeCallbacks();
-		}
+
+			return changed;
+		}, changed -> changed);
 	}
 
 	@Override
@@ -238,33 +258,21 @@ public T get(int index) {
 
 	@Override
 	public T set(int index, T value) {
-		T v = this.values.set(index, value);
-
 		if (value instanceof ComplexConfigValue) {
 			((ComplexConfigValue) value).setValue(this.configValue);
 		}
 
-		if ((v != null && value != null && !v.equals(value)) || (v != null && value == null) || (v == null && value != null)) {
-			this.configValue.serializeAndInvokeCallbacks();
-		}
-
-		return v;
+		return this.modify(() -> this.values.set(index, value), v -> !Objects.equals(v, value));
 	}
 
 	@Override
 	public void add(int index, T value) {
-		this.values.add(index, value);
-
-		this.configValue.serializeAndInvokeCallbacks();
+		this.modify(() -> this.values.add(index, value));
 	}
 
 	@Override
 	public T remove(int index) {
-		T v = this.values.remove(index);
-
-		this.configValue.serializeAndInvokeCallbacks();
-
-		return v;
+		return this.modify(() -> this.values.remove(index), v -> true);
 	}
 
 	@Override
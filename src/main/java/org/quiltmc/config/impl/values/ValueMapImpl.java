@@ -23,13 +23,19 @@
 import org.quiltmc.config.api.values.CompoundConfigValue;
 import org.quiltmc.config.api.values.ValueMap;
 import org.quiltmc.config.impl.tree.TrackedValueImpl;
+import org.quiltmc.config.impl.util.ConfigUtils;
+import org.quiltmc.config.impl.util.CopyOnWriteMap;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public final class ValueMapImpl<T> implements ValueMap<T>, CompoundConfigValue<T> {
 	private final T defaultValue;
@@ -42,6 +48,23 @@ public ValueMapImpl(T defaultValue, Map<String, T> values) {
 		this.values = values;
 	}
 
+	@Override
+	public boolean isCopyOnWrite() {
+		return this.values instanceof CopyOnWriteMap;
+	}
+
+	private <R> R modify(Supplier<R> modification, Predicate<? super R> changed) {
+		// Unbound values, such as snapshot copies, have no config to lock or notify
+		return this.configValue == null ? modification.get() : this.configValue.modify(modification, changed);
+	}
+
+	private void modify(Runnable modification) {
+		this.modify(() -> {
+			modification.run();
+			return null;
+		}, result -> true);
+	}
+
 	@Override
 	public void setValue(TrackedValue<?> configValue) {
 		this.configValue = (TrackedValueImpl<?>) configValue;
@@ -68,13 +91,32 @@ public ValueMap<T> copy() {
 			}
 		}
 
-		ValueMapImpl<T> result = new ValueMapImpl<>(this.defaultValue, values);
+		ValueMapImpl<T> result = new ValueMapImpl<>(this.defaultValue, this.isCopyOnWrite() ? new CopyOnWriteMap<>(values) : values);
 
 		result.setValue(this.configValue);
 
 		return result;
 	}
 
+	/**
+	 * @return a deep copy of this map that cannot be modified
+	 */
+	@SuppressWarnings("unchecked")
+	public ValueMapImpl<T> immutableCopy() {
+		if (this.isCopyOnWrite() && !(this.defaultValue instanceof ComplexConfigValue)) {
+			// Nothing in the current contents can change
+			return new ValueMapImpl<>(this.defaultValue, ((CopyOnWriteMap<String, T>) this.values).snapshot());
+		}
+
+		Map<String, T> values = new LinkedHashMap<>();
+
+		for (Entry<String, T> entry : this.values.entrySet()) {
+			values.put(entry.getKey(), (T) ConfigUtils.immutableCopy(entry.getValue()));
+		}
+
+		return new ValueMapImpl<>(this.defaultValue, Collections.unmodifiableMap(values));
+	}
+
 	@Override
 	public int size() {
 		return this.values.size();
@@ -103,43 +145,46 @@ public T get(Object key) {
 	@Nullable
 	@Override
 	public T put(String key, T value) {
-		T v = this.values.put(key, value);
-
 		if (value instanceof ComplexConfigValue) {
 			((ComplexConfigValue) value).setValue(this.configValue);
 		}
 
-		this.configValue.serializeAndInvokeCallbacks();
-
-		return v;
+		return this.modify(() -> this.values.put(key, value), v -> true);
 	}
 
 	@Override
 	public T remove(Object key) {
-		T result = this.values.remove(key);
-
-		this.configValue.serializeAndInvokeCallbacks();
-
-		return result;
+		return this.modify(() -> this.values.remove(key), v -> true);
 	}
 
 	@Override
 	public void putAll(@NotNull Map<? extends String, ? extends T> m) {
-		this.values.putAll(m);
-
 		for (T value : m.values()) {
 			if (value instanceof ComplexConfigValue) {
 				((ComplexConfigValue) value).setValue(this.configValue);
 			}
 		}
 
-		this.configValue.serializeAndInvokeCallbacks();
+		this.modify(() -> this.values.putAll(m));
+	}
+
+	@Override
+	public void edit(Consumer<? super Map<String, T>> editor) {
+		this.modify(() -> {
+			if (this.values instanceof CopyOnWriteMap) {
+				((CopyOnWriteMap<String, T>) this.values).edit(editor);
+			} else {
+				editor.accept(this.values);
+			}
+
+			// Bind any complex values added by the editor
+			this.setValue(this.configValue);
+		});
 	}
 
 	@Override
 	public void clear() {
-		this.values.clear();
-		this.configValue.serializeAndInvokeCallbacks();
+		this.modify(this.values::clear);
 	}
 
 	@NotNull
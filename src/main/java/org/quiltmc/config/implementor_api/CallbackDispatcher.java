@@ -0,0 +1,231 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.implementor_api;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers config and value callbacks on an executor instead of the thread that changed a value.
+ *
+ * <p>Callbacks for the same {@link org.quiltmc.config.api.values.TrackedValue} are delivered one at a time, in the
+ * order the changes were made. Config callbacks for changes made together, such as a transaction or a reload, are
+ * delivered in order with each other. No ordering is guaranteed between different values.
+ *
+ * <p>Config callbacks are delivered along with the change that caused them, so the same
+ * {@link org.quiltmc.config.api.Config.UpdateCallback} may run on several executor threads at once when different
+ * values change, and has to be thread-safe.
+ *
+ * <p>If the executor rejects a delivery, for instance because it was shut down, the callbacks are run on the thread
+ * that made the change instead.
+ *
+ * <p>When coalescing, a change of a value whose previous change has not been delivered yet replaces it, so that slow
+ * listeners only see the latest value.
+ *
+ * @see ConfigEnvironment#setCallbackDispatcher(CallbackDispatcher)
+ */
+public final class CallbackDispatcher {
+	private final Executor executor;
+	private final boolean coalesce;
+	// Dropped along with the value or config they belong to
+	private final Map<Object, SerialQueue> queues = Collections.synchronizedMap(new WeakHashMap<>());
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private final AtomicLong maxLagNanos = new AtomicLong();
+	private final Object idleLock = new Object();
+	private int inFlight;
+
+	/**
+	 * @param executor the executor to deliver callbacks on
+	 * @param coalesce whether undelivered changes of a value are replaced by newer ones
+	 */
+	public CallbackDispatcher(Executor executor, boolean coalesce) {
+		this.executor = executor;
+		this.coalesce = coalesce;
+	}
+
+	/**
+	 * @return the number of deliveries waiting to be run
+	 */
+	public int queueDepth() {
+		return this.queueDepth.get();
+	}
+
+	/**
+	 * @return how long the oldest waiting delivery has been waiting for, or 0 if none are
+	 */
+	public long lag(TimeUnit unit) {
+		long now = System.nanoTime();
+		long lag = 0;
+
+		synchronized (this.queues) {
+			for (SerialQueue queue : this.queues.values()) {
+				lag = Math.max(lag, queue.lag(now));
+			}
+		}
+
+		return unit.convert(lag, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return the longest any delivery has waited before being run so far
+	 */
+	public long maxLag(TimeUnit unit) {
+		return unit.convert(this.maxLagNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Waits until every delivery dispatched so far has been run.
+	 *
+	 * @return whether all deliveries were run before the timeout elapsed
+	 */
+	public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+		synchronized (this.idleLock) {
+			while (this.inFlight > 0) {
+				long remaining = deadline - System.nanoTime();
+
+				if (remaining <= 0) {
+					return false;
+				}
+
+				TimeUnit.NANOSECONDS.timedWait(this.idleLock, remaining);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Queues callbacks to be run after every delivery previously dispatched for the same source.
+	 *
+	 * @param source the value or config the callbacks belong to
+	 * @param callbacks invokes the callbacks
+	 * @param latestOnly whether the delivery only reports the latest state of its source, and can therefore be
+	 *                   replaced by a newer delivery when coalescing
+	 */
+	@ApiStatus.Internal
+	public void dispatch(Object source, Runnable callbacks, boolean latestOnly) {
+		SerialQueue queue;
+
+		synchronized (this.queues) {
+			queue = this.queues.computeIfAbsent(source, s -> new SerialQueue());
+		}
+
+		queue.add(new Delivery(callbacks, latestOnly && this.coalesce, System.nanoTime()));
+	}
+
+	private void changeInFlight(int delta) {
+		synchronized (this.idleLock) {
+			this.inFlight += delta;
+
+			if (this.inFlight == 0) {
+				this.idleLock.notifyAll();
+			}
+		}
+	}
+
+	private static final class Delivery {
+		private final Runnable callbacks;
+		private final boolean replaceable;
+		private final long queuedAt;
+
+		private Delivery(Runnable callbacks, boolean replaceable, long queuedAt) {
+			this.callbacks = callbacks;
+			this.replaceable = replaceable;
+			this.queuedAt = queuedAt;
+		}
+	}
+
+	private final class SerialQueue implements Runnable {
+		private final ArrayDeque<Delivery> pending = new ArrayDeque<>();
+		private boolean running;
+
+		private void add(Delivery delivery) {
+			boolean schedule;
+
+			synchronized (this) {
+				Delivery last = this.pending.peekLast();
+
+				if (delivery.replaceable && last != null && last.replaceable) {
+					// Keep the time of the replaced delivery, so that lag reflects how long the listener has been behind
+					this.pending.pollLast();
+					delivery = new Delivery(delivery.callbacks, true, last.queuedAt);
+				} else {
+					CallbackDispatcher.this.queueDepth.incrementAndGet();
+					CallbackDispatcher.this.changeInFlight(1);
+				}
+
+				this.pending.addLast(delivery);
+				schedule = !this.running;
+				this.running = true;
+			}
+
+			if (schedule) {
+				try {
+					CallbackDispatcher.this.executor.execute(this);
+				} catch (RejectedExecutionException e) {
+					// Still marked as running, so draining the queue here keeps later deliveries behind this one
+					this.run();
+				}
+			}
+		}
+
+		private synchronized long lag(long now) {
+			Delivery first = this.pending.peekFirst();
+
+			return first == null ? 0 : now - first.queuedAt;
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Delivery delivery;
+
+				synchronized (this) {
+					delivery = this.pending.pollFirst();
+
+					if (delivery == null) {
+						this.running = false;
+
+						return;
+					}
+				}
+
+				CallbackDispatcher.this.queueDepth.decrementAndGet();
+				CallbackDispatcher.this.maxLagNanos.accumulateAndGet(System.nanoTime() - delivery.queuedAt, Math::max);
+
+				try {
+					delivery.callbacks.run();
+				} catch (Throwable t) {
+					t.printStackTrace();
+				} finally {
+					CallbackDispatcher.this.changeInFlight(-1);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.implementor_api;
+
+import org.quiltmc.config.api.Config;
+import org.quiltmc.config.api.InternalsHelper;
+import org.quiltmc.config.api.ReflectiveConfig;
+import org.quiltmc.config.api.exceptions.ConfigCreationException;
+import org.quiltmc.config.impl.ConfigImpl;
+import org.quiltmc.config.impl.builders.ConfigBuilderImpl;
+import org.quiltmc.config.impl.builders.ReflectiveConfigCreator;
+import org.quiltmc.config.impl.util.ConfigsImpl;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Creates many configs at once, building and loading them in parallel.
+ *
+ * <p>Configs are added with the same parameters as {@link ConfigFactory}, and each addition returns a handle to the
+ * resulting config that can be used once the batch has been built. Building either succeeds for every config, or
+ * fails without registering any of them. Configs are registered in the order they were added, regardless of the
+ * order in which they finished loading.
+ */
+public final class ConfigBatch {
+	private final ConfigEnvironment environment;
+	private final List<Entry<?>> entries = new ArrayList<>();
+	private boolean built;
+
+	public ConfigBatch(ConfigEnvironment environment) {
+		this.environment = environment;
+	}
+
+	/**
+	 * Adds a config file to this batch
+	 *
+	 * @param family the mod owning the resulting config file
+	 * @param id the configs id
+	 * @param path additional path elements to include as part of this configs file
+	 * @param creators any number of {@link Config.Creator}s that can be used to configure the resulting config
+	 * @return a handle to the config, available once this batch has been built
+	 * @see ConfigFactory#create(ConfigEnvironment, String, String, Path, Config.Creator...)
+	 */
+	public Supplier<Config> add(String family, String id, Path path, Config.Creator... creators) {
+		return this.add(new Entry<Config>(family, id, path) {
+			@Override
+			Config.Creator[] creators() {
+				return creators;
+			}
+
+			@Override
+			Config finish(ConfigImpl config) {
+				return config;
+			}
+		});
+	}
+
+	/**
+	 * Adds a config file to this batch
+	 *
+	 * @param family the mod owning the resulting config file
+	 * @param id the configs id
+	 * @param creators any number of {@link Config.Creator}s that can be used to configure the resulting config
+	 * @return a handle to the config, available once this batch has been built
+	 * @see ConfigFactory#create(ConfigEnvironment, String, String, Config.Creator...)
+	 */
+	public Supplier<Config> add(String family, String id, Config.Creator... creators) {
+		return this.add(family, id, Paths.get(""), creators);
+	}
+
+	/**
+	 * Adds a config with fields derived from the fields of the passed class to this batch
+	 *
+	 * @param family the mod owning the resulting config file
+	 * @param id the config's id
+	 * @param path additional path elements to include as part of this configs file
+	 * @param before a {@link Config.Creator} that can be used to configure the resulting config further
+	 * @param configCreatorClass a class as described in {@link ConfigFactory#create(ConfigEnvironment, String, String, Path, Config.Creator, Class, Config.Creator)}
+	 * @param after a {@link Config.Creator} that can be used to configure the resulting config further
+	 * @return a handle to the config, available once this batch has been built
+	 */
+	public <C extends ReflectiveConfig> Supplier<C> add(String family, String id, Path path, Config.Creator before, Class<C> configCreatorClass, Config.Creator after) {
+		return this.add(new Entry<C>(family, id, path) {
+			private ReflectiveConfigCreator<C> creator;
+
+			@Override
+			Config.Creator[] creators() {
+				this.creator = ReflectiveConfigCreator.of(configCreatorClass);
+
+				return new Config.Creator[] {before, this.creator, after};
+			}
+
+			@Override
+			C finish(ConfigImpl config) {
+				C c = this.creator.getInstance();
+
+				InternalsHelper.setWrappedConfig(c, config);
+
+				return c;
+			}
+		});
+	}
+
+	/**
+	 * Adds a config with fields derived from the fields of the passed class to this batch
+	 *
+	 * @param family the mod owning the resulting config file
+	 * @param id the config's id
+	 * @param configCreatorClass a class as described in {@link ConfigFactory#create(ConfigEnvironment, String, String, Class)}
+	 * @return a handle to the config, available once this batch has been built
+	 */
+	public <C extends ReflectiveConfig> Supplier<C> add(String family, String id, Class<C> configCreatorClass) {
+		return this.add(family, id, Paths.get(""), builder -> {}, configCreatorClass, builder -> {});
+	}
+
+	private <C extends Config> Supplier<C> add(Entry<C> entry) {
+		if (this.built) {
+			throw new IllegalStateException("Cannot add configs to a batch that has already been built");
+		}
+
+		this.entries.add(entry);
+
+		return entry;
+	}
+
+	/**
+	 * Builds and loads all configs of this batch on the common {@link ForkJoinPool}.
+	 *
+	 * @see #build(Executor)
+	 */
+	public List<Config> build() {
+		return this.build(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds and loads all configs of this batch on the given executor, then registers them on the calling thread.
+	 *
+	 * @param executor the executor to build and load configs on
+	 * @return every config of this batch, in the order they were added
+	 * @throws ConfigCreationException if any config could not be created, with the failure of each config attached as
+	 *                                 a suppressed exception
+	 */
+	public List<Config> build(Executor executor) {
+		if (this.built) {
+			throw new IllegalStateException("Batch has already been built");
+		}
+
+		this.built = true;
+
+		// Catch duplicates before any file is touched
+		Set<String> names = new HashSet<>();
+
+		for (Entry<?> entry : this.entries) {
+			String name = entry.family + ':' + entry.id;
+
+			if (!names.add(name) || ConfigsImpl.getConfig(entry.family, entry.id) != null) {
+				throw new ConfigCreationException("Config '" + name + "' already exists");
+			}
+		}
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>(this.entries.size());
+
+		for (Entry<?> entry : this.entries) {
+			futures.add(CompletableFuture.runAsync(() -> entry.load(this.environment), executor));
+		}
+
+		ConfigCreationException failure = null;
+
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				futures.get(i).join();
+			} catch (CompletionException e) {
+				if (failure == null) {
+					failure = new ConfigCreationException("Failed to create configs");
+				}
+
+				Entry<?> entry = this.entries.get(i);
+
+				failure.addSuppressed(new ConfigCreationException("Failed to create config '" + entry.family + ':' + entry.id + "'", e.getCause()));
+			}
+		}
+
+		if (failure != null) {
+			this.unbind();
+
+			throw failure;
+		}
+
+		List<Config> configs = new ArrayList<>(this.entries.size());
+
+		try {
+			for (Entry<?> entry : this.entries) {
+				ConfigsImpl.put(entry.family, entry.config);
+				configs.add(entry.config);
+			}
+		} catch (ConfigCreationException e) {
+			// Registered concurrently since the check above
+			for (Config config : configs) {
+				ConfigsImpl.remove(config);
+			}
+
+			this.unbind();
+
+			throw e;
+		}
+
+		configs.clear();
+
+		for (Entry<?> entry : this.entries) {
+			configs.add(entry.complete());
+		}
+
+		return Collections.unmodifiableList(configs);
+	}
+
+	private void unbind() {
+		for (Entry<?> entry : this.entries) {
+			if (entry.config != null) {
+				ConfigBuilderImpl.unbind(entry.config);
+			}
+		}
+	}
+
+	private abstract static class Entry<C extends Config> implements Supplier<C> {
+		private final String family, id;
+		private final Path path;
+		private ConfigImpl config;
+		private volatile C result;
+
+		private Entry(String family, String id, Path path) {
+			this.family = family;
+			this.id = id;
+			this.path = path;
+		}
+
+		abstract Config.Creator[] creators();
+
+		abstract C finish(ConfigImpl config);
+
+		private void load(ConfigEnvironment environment) {
+			ConfigBuilderImpl builder = new ConfigBuilderImpl(environment, this.family, this.id, this.path);
+
+			for (Config.Creator creator : this.creators()) {
+				creator.create(builder);
+			}
+
+			this.config = builder.buildUnregistered();
+			ConfigBuilderImpl.doInitialSerialization(this.config);
+		}
+
+		private C complete() {
+			this.result = this.finish(this.config);
+
+			return this.result;
+		}
+
+		@Override
+		public C get() {
+			C result = this.result;
+
+			if (result == null) {
+				throw new IllegalStateException("Config '" + this.family + ':' + this.id + "' has not been built yet");
+			}
+
+			return result;
+		}
+	}
+}
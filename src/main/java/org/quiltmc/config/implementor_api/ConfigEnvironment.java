@@ -16,17 +16,26 @@
 
 package org.quiltmc.config.implementor_api;
 
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.config.api.Config;
 import org.quiltmc.config.api.Serializer;
+import org.quiltmc.config.api.values.TrackedValue;
+import org.quiltmc.config.impl.util.SaveScheduler;
 
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class ConfigEnvironment {
 	private final Map<String, Serializer> serializers = new HashMap<>();
 	private final Path saveFolder;
 	private final String defaultFileFormat;
 	private final String globalSerializer;
+	private volatile SaveScheduler saveScheduler;
+	private volatile boolean syncOnSave;
+	private volatile CallbackDispatcher callbackDispatcher;
 
 	public ConfigEnvironment(Path saveFolder, String globalSerializer, Serializer defaultSerializer, Serializer... serializers) {
 		this.serializers.put(defaultSerializer.getFileExtension(), defaultSerializer);
@@ -71,4 +80,90 @@ public Serializer getActualSerializer(String fileType) {
 	public Serializer getSerializer(String fileType) {
 		return this.getActualSerializer(this.globalSerializer == null ? fileType : this.globalSerializer);
 	}
+
+	/**
+	 * Sets whether saved configs are forced to the storage device before they replace the previous file.
+	 *
+	 * <p>Configs are always written to a temporary file first, so a crash never leaves a partially written config
+	 * behind. Syncing additionally protects against losing the new contents to a power loss, at the cost of a slower
+	 * save. Disabled by default.
+	 */
+	public void setSyncOnSave(boolean syncOnSave) {
+		this.syncOnSave = syncOnSave;
+	}
+
+	public boolean shouldSyncOnSave() {
+		return this.syncOnSave;
+	}
+
+	/**
+	 * Sets the dispatcher that delivers the config and value callbacks of every config in this environment.
+	 *
+	 * <p>By default, callbacks are invoked on the thread that changed a value, before the change returns. With a
+	 * dispatcher, config callbacks may be invoked concurrently for changes of different values.
+	 *
+	 * @param dispatcher a dispatcher, or {@code null} to invoke callbacks on the changing thread again
+	 */
+	public void setCallbackDispatcher(@Nullable CallbackDispatcher dispatcher) {
+		this.callbackDispatcher = dispatcher;
+	}
+
+	public @Nullable CallbackDispatcher getCallbackDispatcher() {
+		return this.callbackDispatcher;
+	}
+
+	/**
+	 * Enables write-behind saving for every config in this environment.
+	 *
+	 * <p>While enabled, changes that would normally write a config to disk immediately, such as
+	 * {@link TrackedValue#setValue(Object, boolean)} or modifying a value list or map, only mark the config as dirty.
+	 * A dirty config is written by a background thread once it has not been changed for {@code quietPeriod}, or at the
+	 * latest {@code maxDelay} after its first unsaved change. Explicit calls to {@link Config#save()} still write
+	 * immediately.
+	 *
+	 * <p>Pending saves are flushed when the JVM shuts down, and can be flushed manually with {@link #flushSaves()}.
+	 * Calling this method again replaces the previous delays, flushing anything that was pending.
+	 *
+	 * @param quietPeriod how long a config must go unchanged before it is written
+	 * @param maxDelay the longest a change may remain unsaved, must not be smaller than {@code quietPeriod}
+	 * @param unit the unit of both delays
+	 */
+	public synchronized void enableDeferredSaving(long quietPeriod, long maxDelay, TimeUnit unit) {
+		SaveScheduler previous = this.saveScheduler;
+
+		this.saveScheduler = new SaveScheduler(quietPeriod, maxDelay, unit);
+
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Disables write-behind saving, writing all pending changes before returning.
+	 */
+	public synchronized void disableDeferredSaving() {
+		SaveScheduler previous = this.saveScheduler;
+
+		this.saveScheduler = null;
+
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Writes every config with unsaved changes on the calling thread. Does nothing unless deferred saving is enabled.
+	 */
+	public void flushSaves() {
+		SaveScheduler scheduler = this.saveScheduler;
+
+		if (scheduler != null) {
+			scheduler.flush();
+		}
+	}
+
+	@ApiStatus.Internal
+	public @Nullable SaveScheduler getSaveScheduler() {
+		return this.saveScheduler;
+	}
 }
@@ -19,6 +19,7 @@
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.quiltmc.config.Vec3i;
 import org.quiltmc.config.api.Config;
 import org.quiltmc.config.api.ConfigEnvironment;
 import org.quiltmc.config.api.Constraint;
@@ -270,6 +271,17 @@ public void testWrappedConfigs() {
 		this.testWrappedConfigs("testConfig11", "json5");
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testFieldSync() {
+		TestWrappedConfig config = Config.create(ENV, "testmod", "testFieldSync", TestWrappedConfig.class);
+		TrackedValue<Vec3i> vec = (TrackedValue<Vec3i>) config.getValue(Collections.singletonList("vec"));
+
+		vec.setValue(new Vec3i(1, 2, 3));
+
+		Assertions.assertEquals(new Vec3i(1, 2, 3), config.vec);
+	}
+
 	@Test
 	public void testTomlConfigs() {
 		TestWrappedConfig config = Config.create(ENV, "testmod", "testConfig12", TestWrappedConfig.class, builder -> {
@@ -19,6 +19,9 @@
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.quiltmc.config.TestUtil;
+import org.quiltmc.config.api.Config;
+import org.quiltmc.config.api.annotations.Alias;
+import org.quiltmc.config.api.values.TrackedValue;
 import org.quiltmc.config.impl.util.ConfigsImpl;
 import org.quiltmc.config.implementor_api.ConfigEnvironment;
 import org.quiltmc.config.implementor_api.ConfigFactory;
@@ -27,6 +30,7 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 public class AliasTest extends AbstractConfigTest {
 	@Test
@@ -49,6 +53,52 @@ void testJson() throws IOException {
 		test(TestUtil.JSON_ENV);
 	}
 
+	@Test
+	void testAliasPrecedence() throws IOException {
+		for (ConfigEnvironment env : new ConfigEnvironment[] {TestUtil.TOML_ENV, TestUtil.JSON5_ENV, TestUtil.JSONC_ENV, TestUtil.JSON_ENV}) {
+			for (boolean aliasFirst : new boolean[] {false, true}) {
+				ConfigsImpl.removeAll();
+
+				String id = "testAliasPrecedence" + aliasFirst;
+				Config config = createAliasConfig(env, id, aliasFirst);
+				value(config, "outer", "inner", "decoyfield").setValue(2, false);
+				value(config, "outer", "inner", "primary").setValue(1, false);
+				config.save();
+				ConfigsImpl.removeAll();
+
+				// The file now holds the serialized name and an alias of the same value
+				Path configPath = TestUtil.TEMP_DIR.resolve("testmod/" + id + "." + env.getDefaultFormat());
+				String content = new String(Files.readAllBytes(configPath));
+				Files.write(configPath, content.replace("decoyfield", "legacyname").getBytes());
+
+				Config read = createAliasConfig(env, id, aliasFirst);
+
+				// Aliases are checked after the serialized name, and so win no matter where they are in the file
+				Assertions.assertEquals(2, value(read, "outer", "inner", "primary").value());
+				Assertions.assertEquals(0, value(read, "outer", "inner", "decoyfield").value());
+				Assertions.assertEquals(3, value(read, "outer", "unaliased").value());
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static TrackedValue<Integer> value(Config config, String... key) {
+		return (TrackedValue<Integer>) config.getValue(Arrays.asList(key));
+	}
+
+	private static Config createAliasConfig(ConfigEnvironment env, String id, boolean aliasFirst) {
+		return ConfigFactory.create(env, "testmod", id, builder -> builder.section("outer", outer -> {
+			outer.section("inner", inner -> {
+				TrackedValue<Integer> primary = TrackedValue.create(0, "primary", b -> b.metadata(Alias.TYPE, aliases -> aliases.add("legacyname")));
+				TrackedValue<Integer> decoy = TrackedValue.create(0, "decoyfield");
+
+				inner.field(aliasFirst ? decoy : primary);
+				inner.field(aliasFirst ? primary : decoy);
+			});
+			outer.field(TrackedValue.create(3, "unaliased"));
+		}));
+	}
+
 	private static void test(ConfigEnvironment env) throws IOException {
 		ConfigsImpl.removeAll();
 
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.reflective;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.config.TestUtil;
+import org.quiltmc.config.impl.util.FileUtils;
+import org.quiltmc.config.implementor_api.ConfigFactory;
+import org.quiltmc.config.reflective.input.TestReflectiveConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
+
+public class AtomicSaveTest extends AbstractConfigTest {
+	private static final Path DIRECTORY = TestUtil.TEMP_DIR.resolve("atomic");
+	private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+	@Test
+	void testReplace() throws IOException {
+		Path path = DIRECTORY.resolve("file.txt");
+
+		for (boolean sync : new boolean[] {false, true}) {
+			write(path, sync, "first");
+			Assertions.assertEquals("first", read(path));
+
+			write(path, sync, "second");
+			Assertions.assertEquals("second", read(path));
+			Assertions.assertEquals(1L, count(DIRECTORY));
+		}
+	}
+
+	@Test
+	void testFailedWriteKeepsContents() throws IOException {
+		Path path = DIRECTORY.resolve("file.txt");
+		write(path, false, "kept");
+
+		Assertions.assertThrows(IOException.class, () -> FileUtils.writeAtomically(path, false, out -> {
+			out.write("lost".getBytes(StandardCharsets.UTF_8));
+
+			throw new IOException("Writer failed");
+		}));
+
+		Assertions.assertEquals("kept", read(path));
+		Assertions.assertEquals(1L, count(DIRECTORY), "Temporary file was left behind");
+	}
+
+	@Test
+	void testPermissionsPreserved() throws IOException {
+		if (!POSIX) {
+			return;
+		}
+
+		Path path = DIRECTORY.resolve("file.txt");
+		write(path, false, "first");
+		Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-r-----"));
+
+		write(path, false, "second");
+
+		Assertions.assertEquals("rw-r-----", PosixFilePermissions.toString(Files.getPosixFilePermissions(path)));
+
+		// Saves of a config go through the same path
+		TestReflectiveConfig config = ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "atomicConfig", TestReflectiveConfig.class);
+		Path configPath = TestUtil.TEMP_DIR.resolve("testmod/atomicConfig.json5");
+		Files.setPosixFilePermissions(configPath, PosixFilePermissions.fromString("rw-rw----"));
+
+		config.a.setValue(config.a.value() + 1);
+
+		Assertions.assertEquals("rw-rw----", PosixFilePermissions.toString(Files.getPosixFilePermissions(configPath)));
+	}
+
+	@Test
+	void testSymbolicLinkFollowed() throws IOException {
+		if (!POSIX) {
+			return;
+		}
+
+		Path target = DIRECTORY.resolve("target.txt");
+		Path link = DIRECTORY.resolve("link.txt");
+		write(target, false, "first");
+		Files.createSymbolicLink(link, target.getFileName());
+
+		write(link, false, "second");
+
+		Assertions.assertTrue(Files.isSymbolicLink(link), "Link was replaced by a regular file");
+		Assertions.assertEquals("second", read(target));
+		Assertions.assertEquals(2L, count(DIRECTORY));
+	}
+
+	private static void write(Path path, boolean sync, String contents) throws IOException {
+		FileUtils.writeAtomically(path, sync, out -> out.write(contents.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String read(Path path) throws IOException {
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+	}
+
+	private static long count(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+}
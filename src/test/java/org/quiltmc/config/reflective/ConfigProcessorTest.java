@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.reflective;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.config.TestUtil;
+import org.quiltmc.config.processor.ReflectiveConfigProcessor;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ConfigProcessorTest extends AbstractConfigTest {
+	private static final Path SOURCES = TestUtil.TEMP_DIR.resolve("sources");
+	private static final Path CLASSES = TestUtil.TEMP_DIR.resolve("classes");
+
+	@Test
+	public void testSkippedConfig() throws IOException {
+		DiagnosticCollector<JavaFileObject> diagnostics = compile("p/Skipped.java",
+				"package p;\n"
+				+ "public class Skipped extends org.quiltmc.config.api.ReflectiveConfig {\n"
+				+ "\tprivate final org.quiltmc.config.api.values.TrackedValue<Integer> hidden = this.value(0);\n"
+				+ "}\n");
+
+		Assertions.assertTrue(messages(diagnostics, Diagnostic.Kind.ERROR).isEmpty(), "Skipped config failed the build: " + messages(diagnostics, Diagnostic.Kind.ERROR));
+		assertReported(diagnostics, Diagnostic.Kind.WARNING, "Config class 'p.Skipped' will be created reflectively: field 'hidden' is not accessible");
+		Assertions.assertFalse(Files.exists(CLASSES.resolve("p/Skipped_QuiltConfigCreator.class")), "A creator was generated for a skipped config");
+	}
+
+	@Test
+	public void testInvalidConfigs() throws IOException {
+		DiagnosticCollector<JavaFileObject> diagnostics = compile("p/Invalid.java",
+				"package p;\n"
+				+ "@org.quiltmc.config.api.annotations.Processor(\"missing\")\n"
+				+ "public class Invalid extends org.quiltmc.config.api.ReflectiveConfig {\n"
+				+ "\tpublic final org.quiltmc.config.api.values.TrackedValue<Integer> value = this.value(0);\n"
+				+ "\n"
+				+ "\tpublic static class NotFinal extends org.quiltmc.config.api.ReflectiveConfig {\n"
+				+ "\t\tpublic org.quiltmc.config.api.values.TrackedValue<Integer> value = this.value(0);\n"
+				+ "\t}\n"
+				+ "\n"
+				+ "\tpublic static class NotAValue extends org.quiltmc.config.api.ReflectiveConfig {\n"
+				+ "\t\tpublic final String value = \"\";\n"
+				+ "\t}\n"
+				+ "}\n");
+
+		assertReported(diagnostics, Diagnostic.Kind.ERROR, "Processor method 'missing(org.quiltmc.config.api.Config.Builder)' not found in 'p.Invalid'");
+		assertReported(diagnostics, Diagnostic.Kind.ERROR, "Config field 'p.Invalid.NotFinal#value' is not final");
+		assertReported(diagnostics, Diagnostic.Kind.ERROR, "Config field 'p.Invalid.NotAValue#value' is not a valid config value: it must be a TrackedValue or a ReflectiveConfig.Section");
+	}
+
+	@Test
+	public void testNestedConfigNames() throws IOException {
+		// A nested Foo.Bar and a top-level Foo_Bar must not be given the same creator
+		DiagnosticCollector<JavaFileObject> diagnostics = compile("p/Foo.java",
+				"package p;\n"
+				+ "public class Foo {\n"
+				+ "\tpublic static class Bar extends org.quiltmc.config.api.ReflectiveConfig {\n"
+				+ "\t\tpublic final org.quiltmc.config.api.values.TrackedValue<Integer> nested = this.value(0);\n"
+				+ "\t}\n"
+				+ "}\n",
+				"p/Foo_Bar.java",
+				"package p;\n"
+				+ "public class Foo_Bar extends org.quiltmc.config.api.ReflectiveConfig {\n"
+				+ "\tpublic final org.quiltmc.config.api.values.TrackedValue<Integer> topLevel = this.value(0);\n"
+				+ "}\n");
+
+		Assertions.assertTrue(messages(diagnostics, Diagnostic.Kind.ERROR).isEmpty(), "Failed to compile configs: " + messages(diagnostics, Diagnostic.Kind.ERROR));
+		Assertions.assertTrue(Files.exists(CLASSES.resolve("p/Foo$$Bar_QuiltConfigCreator.class")), "No creator was generated for the nested config");
+		Assertions.assertTrue(Files.exists(CLASSES.resolve("p/Foo_Bar_QuiltConfigCreator.class")), "No creator was generated for the top-level config");
+	}
+
+	/**
+	 * Compiles the given sources, given as pairs of paths and contents, with the config processor.
+	 */
+	private static DiagnosticCollector<JavaFileObject> compile(String... sources) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		List<File> files = new ArrayList<>();
+
+		for (int i = 0; i < sources.length; i += 2) {
+			Path path = SOURCES.resolve(sources[i]);
+			Files.createDirectories(path.getParent());
+			Files.write(path, sources[i + 1].getBytes(StandardCharsets.UTF_8));
+			files.add(path.toFile());
+		}
+
+		Files.createDirectories(CLASSES);
+
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+			List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", CLASSES.toString());
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(files));
+
+			task.setProcessors(Collections.singletonList(new ReflectiveConfigProcessor()));
+			task.call();
+		}
+
+		return diagnostics;
+	}
+
+	private static List<String> messages(DiagnosticCollector<JavaFileObject> diagnostics, Diagnostic.Kind kind) {
+		List<String> messages = new ArrayList<>();
+
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == kind) {
+				messages.add(diagnostic.getMessage(null));
+			}
+		}
+
+		return messages;
+	}
+
+	private static void assertReported(DiagnosticCollector<JavaFileObject> diagnostics, Diagnostic.Kind kind, String message) {
+		List<String> messages = messages(diagnostics, kind);
+
+		Assertions.assertTrue(messages.contains(message), "Expected " + kind + " '" + message + "', got " + messages);
+	}
+}
@@ -21,8 +21,10 @@
 import org.quiltmc.config.TestUtil;
 import org.quiltmc.config.api.Config;
 import org.quiltmc.config.api.ConfigEnvironment;
+import org.quiltmc.config.api.Configs;
 import org.quiltmc.config.api.Constraint;
 import org.quiltmc.config.api.annotations.Comment;
+import org.quiltmc.config.api.annotations.ConfigFieldAnnotationProcessor;
 import org.quiltmc.config.api.annotations.SerializedName;
 import org.quiltmc.config.api.annotations.SerializedNameConvention;
 import org.quiltmc.config.api.exceptions.ConfigCreationException;
@@ -35,10 +37,19 @@
 import org.quiltmc.config.api.serializers.JsonCSerializer;
 import org.quiltmc.config.api.serializers.JsonSerializer;
 import org.quiltmc.config.api.serializers.TomlSerializer;
+import org.quiltmc.config.api.values.BooleanTrackedValue;
+import org.quiltmc.config.api.values.CompoundConfigValue;
+import org.quiltmc.config.api.values.DoubleTrackedValue;
+import org.quiltmc.config.api.values.FloatTrackedValue;
+import org.quiltmc.config.api.values.IntTrackedValue;
 import org.quiltmc.config.api.values.TrackedValue;
+import org.quiltmc.config.api.values.ValueKey;
 import org.quiltmc.config.api.values.ValueList;
 import org.quiltmc.config.api.values.ValueMap;
+import org.quiltmc.config.api.values.ValueTreeNode;
 import org.quiltmc.config.impl.CommentsImpl;
+import org.quiltmc.config.impl.util.ConfigsImpl;
+import org.quiltmc.config.implementor_api.ConfigBatch;
 import org.quiltmc.config.implementor_api.ConfigFactory;
 import org.quiltmc.config.reflective.input.TestValueConfig3;
 import org.quiltmc.config.reflective.input.TestValueConfig4;
@@ -46,10 +57,25 @@
 import org.quiltmc.config.reflective.input.TestValueMapConfig;
 import org.quiltmc.config.reflective.input.TestReflectiveConfig;
 import org.quiltmc.config.reflective.input.TestReflectiveConfig2;
+import org.quiltmc.config.reflective.input.TestReflectiveOnlyConfig;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @SuppressWarnings("deprecation")
 public class ConfigTest extends AbstractConfigTest {
@@ -225,6 +251,17 @@ public void testConstraints() {
 			builder.field(TEST_BOOLEAN = TrackedValue.create(false, "testBoolean"));
 			builder.field(TEST_STRING = TrackedValue.create("test:id", "test", creator -> creator.constraint(Constraint.matching("[a-zA-Z0-9]+:[a-zA-Z0-9]+"))));
 		});
+
+		Constraint<Float> range = Constraint.range(0.0F, 1.0F);
+		Constraint<CompoundConfigValue<Integer>> all = Constraint.all(Constraint.range(0, 3));
+
+		Assertions.assertTrue(range.isValid(0.5F));
+		Assertions.assertFalse(range.isValid(Float.NaN));
+		Assertions.assertTrue(((Constraint.Range<Float>) range).contains(1.0F));
+		Assertions.assertTrue(all.isValid(ValueList.create(0, 1, 2, 3)));
+		Assertions.assertFalse(all.isValid(ValueList.create(0, 4, 5)));
+		Assertions.assertEquals(Optional.of("Value '4' outside of range [0, 3], Value '5' outside of range [0, 3]"), all.test(ValueList.create(0, 4, 5)));
+		Assertions.assertThrows(TrackedValueException.class, () -> TEST_STRING.setValue("test"));
 	}
 
 	public void testReflectiveConfigs(String id, String format) {
@@ -278,6 +315,440 @@ public void testValueListBehavior() {
 		c.strings.value().add(c.strings.value().size() + "");
 	}
 
+	@Test
+	public void testBulkEdits() {
+		TestValueListConfig c = ConfigFactory.create(ENV, "wrapped", "testConfig15", TestValueListConfig.class);
+		int[] updates = new int[2];
+		c.registerCallback(config -> updates[0]++);
+		c.strings.registerCallback(value -> updates[1]++);
+
+		c.strings.value().edit(list -> {
+			for (int i = 0; i < 100; i++) {
+				list.add(Integer.toString(i));
+			}
+
+			list.remove("");
+		});
+
+		Assertions.assertEquals(100, c.strings.value().size());
+		Assertions.assertEquals("0", c.strings.value().get(0));
+		Assertions.assertEquals(1, updates[0]);
+		Assertions.assertEquals(1, updates[1]);
+
+		TestValueMapConfig m = ConfigFactory.create(ENV, "wrapped", "testConfig16", TestValueMapConfig.class);
+		int[] mapUpdates = new int[1];
+		m.weights.registerCallback(value -> mapUpdates[0]++);
+
+		m.weights.value().edit(map -> {
+			map.clear();
+			map.put("a", 1);
+			map.put("b", 2);
+		});
+
+		Assertions.assertEquals(2, m.weights.value().size());
+		Assertions.assertEquals(1, mapUpdates[0]);
+	}
+
+	@Test
+	public void testCopyOnWriteValues() {
+		TrackedValue<ValueList<String>> list = TrackedValue.create(ValueList.createCopyOnWrite("", "a", "b"), "list");
+		TrackedValue<ValueMap<Integer>> map = TrackedValue.create(ValueMap.builder(0).copyOnWrite().put("a", 1).build(), "map");
+		ConfigFactory.create(ENV, "wrapped", "testConfig23", builder -> builder.field(list).field(map));
+		int[] updates = new int[1];
+		list.registerCallback(value -> updates[0]++);
+
+		Iterator<String> iterator = list.value().iterator();
+		list.value().add("c");
+
+		Assertions.assertEquals("a", iterator.next());
+		Assertions.assertEquals("b", iterator.next());
+		Assertions.assertFalse(iterator.hasNext(), "Iterator saw a later modification");
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.value().iterator().remove());
+
+		list.value().edit(values -> {
+			values.clear();
+			values.add("d");
+		});
+
+		Assertions.assertEquals(Collections.singletonList("d"), list.value());
+		Assertions.assertEquals(2, updates[0]);
+
+		for (Map.Entry<String, Integer> entry : map.value().entrySet()) {
+			map.value().put(entry.getKey() + "2", entry.getValue() + 1);
+		}
+
+		Assertions.assertEquals(2, map.value().get("a2"));
+
+		ConfigsImpl.removeAll();
+
+		TrackedValue<ValueList<String>> reloadedList = TrackedValue.create(ValueList.createCopyOnWrite(""), "list");
+		TrackedValue<ValueMap<Integer>> reloadedMap = TrackedValue.create(ValueMap.builder(0).copyOnWrite().build(), "map");
+		ConfigFactory.create(ENV, "wrapped", "testConfig23", builder -> builder.field(reloadedList).field(reloadedMap));
+
+		Assertions.assertEquals(Collections.singletonList("d"), reloadedList.value());
+		Assertions.assertTrue(reloadedList.value().isCopyOnWrite());
+		Assertions.assertEquals(2, reloadedMap.value().get("a2"));
+		Assertions.assertTrue(reloadedMap.value().isCopyOnWrite());
+	}
+
+	@Test
+	public void testTransaction() {
+		TestReflectiveConfig c = ConfigFactory.create(ENV, "wrapped", "testConfig18", TestReflectiveConfig.class);
+		List<Set<ValueKey>> updates = new ArrayList<>();
+		int[] valueUpdates = new int[1];
+		c.registerCallback(new Config.UpdateCallback() {
+			@Override
+			public void onUpdate(Config config) {
+				throw new AssertionError("Keys were not passed to the callback");
+			}
+
+			@Override
+			public void onUpdate(Config config, Set<ValueKey> changedKeys) {
+				updates.add(changedKeys);
+			}
+		});
+		c.a.registerCallback(value -> valueUpdates[0]++);
+		c.d.registerCallback(value -> valueUpdates[0]++);
+
+		Assertions.assertThrows(TrackedValueException.class, () -> c.transaction(tx -> tx.set(c.a, 5).set(c.d, 11)));
+		Assertions.assertEquals(0, c.a.value());
+		Assertions.assertEquals(0, updates.size());
+
+		c.transaction(tx -> tx.set(c.a, 5).set(c.d, 7).set(c.b, 1).set(c.whatever, "Pinot"));
+
+		Assertions.assertEquals(5, c.a.value());
+		Assertions.assertEquals(7, c.d.value());
+		Assertions.assertEquals("Pinot", c.whatever.value());
+		Assertions.assertEquals(1, updates.size());
+		Assertions.assertEquals(3, updates.get(0).size());
+		Assertions.assertFalse(updates.get(0).contains(c.b.key()), "Unchanged value was reported as changed");
+		Assertions.assertEquals(2, valueUpdates[0]);
+	}
+
+	@Test
+	public void testSnapshot() {
+		TestReflectiveConfig c = ConfigFactory.create(ENV, "wrapped", "testConfig21", TestReflectiveConfig.class);
+		Config.Snapshot snapshot = c.snapshot();
+
+		Assertions.assertSame(snapshot, c.snapshot());
+		Assertions.assertEquals(0, snapshot.get(c.a));
+		Assertions.assertEquals(0, snapshot.get(c.nested1.a));
+
+		c.transaction(tx -> tx.set(c.a, 5).set(c.nested1.a, 6));
+		c.ints.value().add(5);
+
+		Config.Snapshot next = c.snapshot();
+
+		Assertions.assertTrue(next.version() > snapshot.version());
+		Assertions.assertEquals(0, snapshot.get(c.a));
+		Assertions.assertEquals(4, snapshot.get(c.ints).size());
+		Assertions.assertEquals(5, next.get(c.a));
+		Assertions.assertEquals(6, next.get(c.nested1.a));
+		Assertions.assertEquals(5, next.get(c.ints).size());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> next.get(c.ints).add(6));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> next.get(c.key_binds).put("", ValueList.create("")));
+
+		c.a.setOverride(7);
+
+		Assertions.assertEquals(7, c.snapshot().get(c.a));
+		Assertions.assertEquals(5, next.get(c.a));
+	}
+
+	@Test
+	public void testVersions() {
+		TestReflectiveConfig c = ConfigFactory.create(ENV, "wrapped", "testConfig22", TestReflectiveConfig.class);
+		ValueTreeNode.Section nested = (ValueTreeNode.Section) c.getNode(Collections.singletonList("nested1"));
+		long config = c.version();
+		long section = nested.version();
+		long value = c.a.version();
+
+		c.a.setValue(c.a.value());
+		c.nested1.a.setValue(c.nested1.a.value());
+
+		Assertions.assertEquals(config, c.version(), "Setting a value to itself changed the version");
+		Assertions.assertEquals(section, nested.version());
+		Assertions.assertEquals(value, c.a.version());
+
+		c.a.setValue(5);
+
+		Assertions.assertEquals(value + 1, c.a.version());
+		Assertions.assertEquals(config + 1, c.version());
+		Assertions.assertEquals(section, nested.version(), "Section changed without any of its values changing");
+
+		c.nested1.a.setValue(5);
+		c.a.setOverride(6);
+		c.ints.value().add(5);
+
+		Assertions.assertEquals(value + 2, c.a.version());
+		Assertions.assertEquals(section + 1, nested.version());
+		Assertions.assertEquals(config + 4, c.version());
+	}
+
+	@Test
+	public void testGetter() throws Throwable {
+		TestReflectiveConfig c = ConfigFactory.create(ENV, "wrapped", "testConfig24", TestReflectiveConfig.class);
+		MethodHandle getter = c.whatever.getter();
+
+		Assertions.assertSame(getter, c.whatever.getter());
+		Assertions.assertEquals("Riesling", (String) getter.invoke());
+
+		c.whatever.setValue("Pinot");
+
+		Assertions.assertEquals("Pinot", (String) getter.invoke());
+
+		c.whatever.setOverride("Merlot");
+
+		Assertions.assertEquals("Merlot", (String) getter.invoke());
+
+		c.whatever.removeOverride();
+
+		Assertions.assertEquals("Pinot", (String) getter.invoke());
+	}
+
+	@Test
+	public void testPrimitiveValues() {
+		TestReflectiveConfig c = ConfigFactory.create(ENV, "wrapped", "testConfig25", TestReflectiveConfig.class);
+		IntTrackedValue d = (IntTrackedValue) c.d;
+
+		Assertions.assertEquals(3, d.getInt());
+		Assertions.assertEquals(3, d.setInt(7));
+		Assertions.assertEquals(7, d.value());
+		Assertions.assertThrows(TrackedValueException.class, () -> d.setInt(11));
+		Assertions.assertEquals(7, d.getInt());
+
+		d.setOverride(9);
+
+		Assertions.assertEquals(9, d.getInt());
+
+		d.removeOverride();
+
+		Assertions.assertEquals(7, d.getInt());
+
+		FloatTrackedValue ratio = FloatTrackedValue.create(0.5F, "ratio");
+		BooleanTrackedValue flag = BooleanTrackedValue.create(true, "flag");
+		TrackedValue<Double> boxed = TrackedValue.create(-0.25, "boxed");
+		ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "primitiveValues", builder -> {
+			builder.field(ratio);
+			builder.field(flag);
+			builder.field(boxed);
+		});
+
+		ratio.setFloat(2.0F);
+		Assertions.assertEquals(2.0F, ratio.getFloat());
+		Assertions.assertEquals(2.0F, ratio.value());
+		Assertions.assertTrue(flag.setBoolean(false));
+		Assertions.assertFalse(flag.getBoolean());
+		Assertions.assertEquals(-0.25, ((DoubleTrackedValue) boxed).getDouble());
+	}
+
+	@Test
+	public void testRepeatedReflectiveCreation() {
+		// The processor doesn't generate a creator for this config, so every creation after the first replays its plan
+		for (int i = 0; i < 3; i++) {
+			TestReflectiveOnlyConfig c = ConfigFactory.create(ENV, "repeated", "testConfig" + i, TestReflectiveOnlyConfig.class);
+
+			List<String> comments = new ArrayList<>();
+			c.a.metadata(Comment.TYPE).forEach(comments::add);
+
+			Assertions.assertEquals("a", c.a.key().toString());
+			Assertions.assertEquals("hidden", c.hidden().key().toString());
+			Assertions.assertEquals(Arrays.asList("Comment one", "Comment two"), comments);
+			Assertions.assertThrows(TrackedValueException.class, () -> c.d.setValue(11));
+			Assertions.assertNotSame(c.nested1.a, c.nested2.a);
+		}
+	}
+
+	@Test
+	public void testProcessorRegisteredAfterCreation() {
+		TestReflectiveOnlyConfig before = ConfigFactory.create(ENV, "repeated", "beforeRegistration", TestReflectiveOnlyConfig.class);
+
+		Assertions.assertFalse(before.marked.metadata(Comment.TYPE).iterator().hasNext(), "Marker had a processor before one was registered");
+
+		ConfigFieldAnnotationProcessor.register(TestReflectiveOnlyConfig.Marker.class, (marker, builder) -> builder.metadata(Comment.TYPE, comments -> comments.add("Marked")));
+
+		// The plan made for the first config is outdated now, and has to pick up the new processor
+		TestReflectiveOnlyConfig after = ConfigFactory.create(ENV, "repeated", "afterRegistration", TestReflectiveOnlyConfig.class);
+		List<String> comments = new ArrayList<>();
+		after.marked.metadata(Comment.TYPE).forEach(comments::add);
+
+		Assertions.assertEquals(Collections.singletonList("Marked"), comments);
+	}
+
+	@Test
+	public void testConcurrentRegistration() throws InterruptedException {
+		int threads = 4;
+		int configs = 50;
+		AtomicInteger created = new AtomicInteger();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+
+		for (int i = 0; i < threads; i++) {
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+
+					for (int j = 0; j < configs; j++) {
+						try {
+							ConfigFactory.create(TestUtil.JSON5_ENV, "concurrent", "config" + j, builder -> builder.field(TrackedValue.create(0, "value")));
+							created.incrementAndGet();
+						} catch (ConfigCreationException ignored) {
+							// Another thread registered it first
+						}
+
+						for (Config config : Configs.getAll()) {
+							Assertions.assertNotNull(config);
+						}
+					}
+				} catch (Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			});
+
+			worker.start();
+			workers.add(worker);
+		}
+
+		start.countDown();
+
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		Assertions.assertNull(failure.get());
+		Assertions.assertEquals(configs, created.get());
+
+		int registered = 0;
+
+		for (Config ignored : Configs.getConfigs("concurrent")) {
+			registered++;
+		}
+
+		Assertions.assertEquals(configs, registered);
+	}
+
+	@Test
+	public void testDuplicateRegistration() {
+		ConfigFactory.create(TestUtil.JSON5_ENV, "duplicate", "config", builder -> builder.field(TrackedValue.create(0, "value")));
+
+		TrackedValue<Integer> value = TrackedValue.create(0, "value");
+		Assertions.assertThrows(ConfigCreationException.class, () -> ConfigFactory.create(TestUtil.JSON5_ENV, "duplicate", "config", builder -> builder.field(value)));
+
+		// The value was never bound to the rejected config, so it can still be used elsewhere
+		Config config = ConfigFactory.create(TestUtil.JSON5_ENV, "duplicate", "other", builder -> builder.field(value));
+		value.setValue(5);
+
+		Assertions.assertEquals(5, config.snapshot().get(value));
+	}
+
+	@Test
+	public void testConfigBatch() {
+		TestReflectiveConfig existing = ConfigFactory.create(ENV, "batch", "config0", TestReflectiveConfig.class);
+		existing.a.setValue(5);
+		ConfigsImpl.removeAll();
+
+		ConfigBatch batch = new ConfigBatch(ENV);
+		List<Supplier<TestReflectiveConfig>> handles = new ArrayList<>();
+
+		for (int i = 0; i < 8; i++) {
+			handles.add(batch.add("batch", "config" + i, TestReflectiveConfig.class));
+		}
+
+		Supplier<Config> wrapped = batch.add("batch", "wrapped", builder -> builder.field(TrackedValue.create(0, "value")));
+
+		Assertions.assertThrows(IllegalStateException.class, handles.get(0)::get);
+
+		List<Config> configs = batch.build();
+
+		Assertions.assertEquals(9, configs.size());
+		Assertions.assertSame(handles.get(3).get(), configs.get(3));
+		Assertions.assertSame(wrapped.get(), Configs.getConfig("batch", "wrapped"));
+		Assertions.assertNotNull(Configs.getConfig("batch", "config7"));
+		Assertions.assertEquals(5, handles.get(0).get().a.value());
+
+		ConfigBatch failing = new ConfigBatch(ENV);
+		failing.add("failingBatch", "valid", TestReflectiveConfig.class);
+		failing.add("failingBatch", "invalid1", TestReflectiveConfig2.class);
+		failing.add("failingBatch", "invalid2", TestValueConfig3.class);
+
+		ConfigCreationException e = Assertions.assertThrows(ConfigCreationException.class, failing::build);
+
+		Assertions.assertEquals(2, e.getSuppressed().length);
+		Assertions.assertNull(Configs.getConfig("failingBatch", "valid"));
+
+		TrackedValue<Integer> released = TrackedValue.create(0, "value");
+		ConfigBatch partial = new ConfigBatch(ENV);
+		partial.add("failingBatch", "valid", builder -> builder.field(released));
+		partial.add("failingBatch", "invalid", TestReflectiveConfig2.class);
+
+		Assertions.assertThrows(ConfigCreationException.class, partial::build);
+		Assertions.assertDoesNotThrow(() -> ConfigFactory.create(ENV, "failingBatch", "valid", builder -> builder.field(released)));
+
+		ConfigBatch duplicate = new ConfigBatch(ENV);
+		duplicate.add("batch", "config1", TestReflectiveConfig.class);
+
+		Assertions.assertThrows(ConfigCreationException.class, duplicate::build);
+	}
+
+	@Test
+	public void testSingleLoadEvent() {
+		TestReflectiveConfig first = ConfigFactory.create(ENV, "wrapped", "testConfig19", TestReflectiveConfig.class);
+		first.transaction(tx -> tx.set(first.a, 5).set(first.b, 6).set(first.whatever, "Pinot"));
+		ConfigsImpl.removeAll();
+
+		List<Set<ValueKey>> updates = new ArrayList<>();
+		Config.UpdateCallback callback = new Config.UpdateCallback() {
+			@Override
+			public void onUpdate(Config config) {
+			}
+
+			@Override
+			public void onUpdate(Config config, Set<ValueKey> changedKeys) {
+				updates.add(changedKeys);
+			}
+		};
+		TestReflectiveConfig second = ConfigFactory.create(ENV, "wrapped", "testConfig19", builder -> builder.callback(callback), TestReflectiveConfig.class);
+
+		Assertions.assertEquals(6, second.b.value());
+		Assertions.assertEquals(1, updates.size());
+		Assertions.assertEquals(3, updates.get(0).size());
+		Assertions.assertTrue(updates.get(0).contains(second.whatever.key()));
+	}
+
+	@Test
+	public void testMissingKeyLookup() {
+		TestReflectiveConfig c = ConfigFactory.create(ENV, "wrapped", "testConfig20", TestReflectiveConfig.class);
+		int nodes = 0;
+
+		for (TrackedValue<?> value : c.values()) {
+			Assertions.assertNull(c.getValue(value.key().child("missing")));
+			Assertions.assertNull(c.getNode(Arrays.asList("nested1", "missing")));
+			Assertions.assertSame(value, c.getValue(value.key()));
+			nodes++;
+		}
+
+		int nodesAfter = 0;
+
+		for (TrackedValue<?> ignored : c.values()) {
+			nodesAfter++;
+		}
+
+		Assertions.assertEquals(nodes, nodesAfter);
+	}
+
+	@Test
+	public void testUnchangedFileNotRewritten() throws IOException {
+		ConfigFactory.create(ENV, "wrapped", "testConfig17", TestValueListConfig.class);
+		Path path = TestUtil.TEMP_DIR.resolve("wrapped/testConfig17.toml");
+		FileTime old = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(path, old);
+
+		ConfigsImpl.removeAll();
+		ConfigFactory.create(ENV, "wrapped", "testConfig17", TestValueListConfig.class);
+
+		Assertions.assertEquals(old, Files.getLastModifiedTime(path));
+	}
+
 	@Test
 	public void testInferredMetadataType() {
 		MetadataType<Comments, Comment.Builder> TYPE = MetadataType.create(() -> Optional.of(new CommentsImpl(Collections.emptyList())), type -> {
@@ -305,6 +776,31 @@ public void testInferredMetadataType() {
 		}
 	}
 
+	@Test
+	public void testDefaultMetadataResolvedOnce() {
+		AtomicInteger resolved = new AtomicInteger();
+		MetadataType<Comments, Comment.Builder> present = MetadataType.create(Optional::empty, type -> {
+			resolved.incrementAndGet();
+
+			return Optional.of(new CommentsImpl(Collections.emptyList()));
+		}, Comment.Builder::new);
+		MetadataType<Comments, Comment.Builder> absent = MetadataType.create(Optional::empty, type -> {
+			resolved.incrementAndGet();
+
+			return Optional.empty();
+		}, Comment.Builder::new);
+		TrackedValue<Integer> value = TrackedValue.create(0, "testDefaultMetadata");
+
+		for (int i = 0; i < 3; i++) {
+			Assertions.assertTrue(value.hasMetadata(present));
+			Assertions.assertSame(value.metadata(present), value.metadata(present));
+			Assertions.assertFalse(value.hasMetadata(absent));
+			Assertions.assertNull(value.metadata(absent));
+		}
+
+		Assertions.assertEquals(2, resolved.get());
+	}
+
 	@Test
 	public void testInheritedMetadata() {
 		final TrackedValue[] testSectionTestA = new TrackedValue[1];
@@ -335,6 +831,8 @@ public void testInheritedMetadata() {
 		Assertions.assertEquals(NamingSchemes.LOWER_CAMEL_CASE, testSection2TestA[0].metadata(SerializedNameConvention.TYPE));
 		Assertions.assertEquals(NamingSchemes.UPPER_CAMEL_CASE, testSection3TestA[0].metadata(SerializedNameConvention.TYPE));
 		Assertions.assertEquals(NamingSchemes.PASSTHROUGH, testSection3TestB[0].metadata(SerializedNameConvention.TYPE));
+		Assertions.assertEquals(NamingSchemes.SNAKE_CASE, TEST_BOOLEAN.metadata().get(SerializedNameConvention.TYPE));
+		Assertions.assertFalse(TEST_BOOLEAN.metadata().containsKey(Comment.TYPE));
 
 		for (TrackedValue<?> value : config.values()) {
 			System.out.printf("\"%s\": %s%n", value.key(), value.value());
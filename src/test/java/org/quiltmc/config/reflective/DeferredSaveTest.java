@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.reflective;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.config.TestUtil;
+import org.quiltmc.config.api.serializers.Json5Serializer;
+import org.quiltmc.config.api.values.TrackedValue;
+import org.quiltmc.config.impl.ConfigImpl;
+import org.quiltmc.config.impl.util.ConfigsImpl;
+import org.quiltmc.config.impl.util.SaveScheduler;
+import org.quiltmc.config.implementor_api.ConfigEnvironment;
+import org.quiltmc.config.implementor_api.ConfigFactory;
+import org.quiltmc.config.reflective.input.TestReflectiveConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class DeferredSaveTest extends AbstractConfigTest {
+	private static final Path CONFIG_PATH = TestUtil.TEMP_DIR.resolve("testmod/deferredConfig.json5");
+
+	@Test
+	void testFlush() throws IOException {
+		ConfigEnvironment env = new ConfigEnvironment(TestUtil.TEMP_DIR, Json5Serializer.INSTANCE);
+		env.enableDeferredSaving(1, 1, TimeUnit.HOURS);
+
+		try {
+			TestReflectiveConfig config = ConfigFactory.create(env, "testmod", "deferredConfig", TestReflectiveConfig.class);
+			String initial = read();
+
+			for (int i = 0; i < 100; i++) {
+				config.a.setValue(i);
+				config.vecs.value().remove(0);
+				config.vecs.value().add(config.vec.value());
+			}
+
+			Assertions.assertEquals(initial, read(), "Config was written before being flushed");
+
+			env.flushSaves();
+
+			Assertions.assertEquals(99, reload().a.value());
+		} finally {
+			env.disableDeferredSaving();
+		}
+	}
+
+	@Test
+	void testQuietPeriod() throws IOException, InterruptedException {
+		ConfigEnvironment env = new ConfigEnvironment(TestUtil.TEMP_DIR, Json5Serializer.INSTANCE);
+		env.enableDeferredSaving(50, 1000, TimeUnit.MILLISECONDS);
+
+		try {
+			TestReflectiveConfig config = ConfigFactory.create(env, "testmod", "deferredConfig", TestReflectiveConfig.class);
+			String initial = read();
+			config.b.setValue(1234);
+
+			long timeout = System.currentTimeMillis() + 5000;
+
+			while (initial.equals(read())) {
+				Assertions.assertTrue(System.currentTimeMillis() < timeout, "Config was never written in the background");
+				Thread.sleep(10);
+			}
+
+			Assertions.assertEquals(1234, reload().b.value());
+		} finally {
+			env.disableDeferredSaving();
+		}
+	}
+
+	@Test
+	void testDisableFlushes() throws IOException {
+		ConfigEnvironment env = new ConfigEnvironment(TestUtil.TEMP_DIR, Json5Serializer.INSTANCE);
+		env.enableDeferredSaving(1, 1, TimeUnit.HOURS);
+
+		TestReflectiveConfig config = ConfigFactory.create(env, "testmod", "deferredConfig", TestReflectiveConfig.class);
+		config.c.setValue(4321);
+		env.disableDeferredSaving();
+
+		Assertions.assertEquals(4321, reload().c.value());
+
+		config.c.setValue(8765);
+
+		Assertions.assertEquals(8765, reload().c.value());
+	}
+
+	@Test
+	void testCloseWhileMarkingDirty() throws InterruptedException {
+		ConfigImpl config = (ConfigImpl) ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "deferredConfig", builder -> builder.field(TrackedValue.create(0, "value")));
+
+		for (int i = 0; i < 200; i++) {
+			SaveScheduler scheduler = new SaveScheduler(1, 1, TimeUnit.HOURS);
+			CountDownLatch started = new CountDownLatch(1);
+			AtomicBoolean closed = new AtomicBoolean();
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			Thread writer = new Thread(() -> {
+				try {
+					started.countDown();
+
+					// Cancelling makes every mark schedule a new save, which a concurrent close must not reject
+					while (!closed.get()) {
+						scheduler.markDirty(config);
+						scheduler.cancel(config);
+					}
+				} catch (Throwable t) {
+					failure.set(t);
+				}
+			});
+
+			writer.start();
+			started.await();
+			scheduler.close();
+			closed.set(true);
+			writer.join();
+
+			Assertions.assertNull(failure.get());
+		}
+	}
+
+	private static TestReflectiveConfig reload() {
+		ConfigsImpl.removeAll();
+
+		return ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "deferredConfig", TestReflectiveConfig.class);
+	}
+
+	private static String read() throws IOException {
+		return new String(Files.readAllBytes(CONFIG_PATH));
+	}
+}
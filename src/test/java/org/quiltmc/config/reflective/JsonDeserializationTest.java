@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.reflective;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.config.TestUtil;
+import org.quiltmc.config.Vec3i;
+import org.quiltmc.config.api.Config;
+import org.quiltmc.config.api.exceptions.ConfigParseException;
+import org.quiltmc.config.api.values.TrackedValue;
+import org.quiltmc.config.api.values.ValueList;
+import org.quiltmc.config.api.values.ValueMap;
+import org.quiltmc.config.implementor_api.ConfigEnvironment;
+import org.quiltmc.config.implementor_api.ConfigFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class JsonDeserializationTest extends AbstractConfigTest {
+	private static final ConfigEnvironment[] ENVS = {TestUtil.JSON5_ENV, TestUtil.JSONC_ENV, TestUtil.JSON_ENV};
+
+	private TrackedValue<Integer> number;
+	private TrackedValue<ValueList<Integer>> list;
+	private TrackedValue<ValueList<Integer>> badList;
+	private TrackedValue<ValueMap<String>> map;
+	private TrackedValue<Vec3i> vec;
+	private TrackedValue<String> text;
+	private TrackedValue<Integer> nested;
+
+	@Test
+	void testCompoundValues() throws IOException {
+		for (ConfigEnvironment env : ENVS) {
+			read(env, "testCompoundValues", "{"
+					+ "\"list\": [4, 5, 6],"
+					+ "\"map\": {\"a\": \"x\", \"b\": \"y\"},"
+					+ "\"vec\": {\"x\": 1, \"y\": 2, \"z\": 3},"
+					+ "\"section\": {\"nested\": 8}"
+					+ "}");
+
+			Assertions.assertIterableEquals(Arrays.asList(4, 5, 6), this.list.value());
+			Assertions.assertEquals("y", this.map.value().get("b"));
+			Assertions.assertEquals(2, this.map.value().size());
+			Assertions.assertEquals(new Vec3i(1, 2, 3), this.vec.value());
+			Assertions.assertEquals(8, this.nested.value());
+		}
+	}
+
+	@Test
+	void testUnknownEntriesSkipped() throws IOException {
+		for (ConfigEnvironment env : ENVS) {
+			read(env, "testUnknownEntries", "{"
+					+ "\"unknown\": {\"deep\": [1, {\"number\": 2}], \"text\": \"s\"},"
+					+ "\"section\": {\"unknown\": [[]], \"nested\": 9},"
+					+ "\"number\": 5"
+					+ "}");
+
+			Assertions.assertEquals(5, this.number.value());
+			Assertions.assertEquals(9, this.nested.value());
+		}
+	}
+
+	@Test
+	void testMismatchedEntriesSkipped() throws IOException {
+		for (ConfigEnvironment env : ENVS) {
+			read(env, "testMismatchedEntries", "{"
+					+ "\"number\": \"not a number\","
+					+ "\"list\": {\"a\": 1},"
+					+ "\"badList\": [1, \"two\", 3],"
+					+ "\"map\": {\"a\": \"x\", \"b\": [1]},"
+					+ "\"section\": 4,"
+					+ "\"text\": \"read\""
+					+ "}");
+
+			// Each mismatched entry keeps its default, and the entries after it are still read
+			Assertions.assertEquals(1, this.number.value());
+			Assertions.assertIterableEquals(Arrays.asList(1, 2), this.list.value());
+			Assertions.assertIterableEquals(Arrays.asList(7), this.badList.value());
+			Assertions.assertTrue(this.map.value().isEmpty());
+			Assertions.assertEquals(2, this.nested.value());
+			Assertions.assertEquals("read", this.text.value());
+		}
+	}
+
+	@Test
+	void testMalformedDocument() throws IOException {
+		for (ConfigEnvironment env : ENVS) {
+			Assertions.assertThrows(ConfigParseException.class, () -> read(env, "testMalformedDocument", "{\"number\": 5, \"list\": [1, 2"));
+		}
+	}
+
+	private Config read(ConfigEnvironment env, String id, String contents) throws IOException {
+		String configId = id + env.getDefaultFormat();
+		Path path = TestUtil.TEMP_DIR.resolve("testmod/" + configId + "." + env.getDefaultFormat());
+		Files.createDirectories(path.getParent());
+		Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+
+		return ConfigFactory.create(env, "testmod", configId, builder -> {
+			builder.field(this.number = TrackedValue.create(1, "number"));
+			builder.field(this.list = TrackedValue.create(ValueList.create(0, 1, 2), "list"));
+			builder.field(this.badList = TrackedValue.create(ValueList.create(0, 7), "badList"));
+			builder.field(this.map = TrackedValue.create(ValueMap.builder("").build(), "map"));
+			builder.field(this.vec = TrackedValue.create(new Vec3i(0, 0, 0), "vec"));
+			builder.field(this.text = TrackedValue.create("default", "text"));
+			builder.section("section", section -> section.field(this.nested = TrackedValue.create(2, "nested")));
+		});
+	}
+}
@@ -19,11 +19,24 @@
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.quiltmc.config.TestUtil;
+import org.quiltmc.config.api.Config;
+import org.quiltmc.config.api.annotations.Alias;
+import org.quiltmc.config.api.annotations.SerializedName;
+import org.quiltmc.config.api.annotations.SerializedNameConvention;
+import org.quiltmc.config.api.metadata.NamingSchemes;
+import org.quiltmc.config.api.values.TrackedValue;
+import org.quiltmc.config.api.values.ValueKey;
+import org.quiltmc.config.api.values.ValueTreeNode;
 import org.quiltmc.config.impl.util.ConfigsImpl;
+import org.quiltmc.config.impl.util.SerializerUtils;
 import org.quiltmc.config.implementor_api.ConfigEnvironment;
 import org.quiltmc.config.implementor_api.ConfigFactory;
 import org.quiltmc.config.reflective.input.TestConventionConfig;
 
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Tests <a href="https://github.com/QuiltMC/quilt-config/pull/58">the JSON serializer failing to apply serialized names on section values</a>.
  * Note: this is also tested by {@link ReadWriteCycleTest}, but this test is left in for increased granularity.
@@ -49,6 +62,47 @@ void testJson() {
 		test(TestUtil.JSON_ENV);
 	}
 
+	@Test
+	void testCachedKeys() {
+		Config config = ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "testCachedKeys", builder -> {
+			builder.metadata(SerializedNameConvention.TYPE, b -> b.set(NamingSchemes.SNAKE_CASE));
+			builder.field(TrackedValue.create(0, "topLevelValue", b -> b.metadata(Alias.TYPE, a -> a.add("oldTopLevel"))));
+			builder.section("renamedSection", section -> {
+				section.metadata(SerializedName.TYPE, b -> b.withName("custom_section"));
+				section.field(TrackedValue.create(0, "innerValue", b -> b.metadata(Alias.TYPE, a -> a.add("oldInner", "olderInner"))));
+				section.section("nestedSection", nested -> {
+					nested.metadata(SerializedNameConvention.TYPE, b -> b.set(NamingSchemes.KEBAB_CASE));
+					nested.field(TrackedValue.create(0, "deepValue"));
+					nested.field(TrackedValue.create(0, "namedValue", b -> {
+						b.metadata(SerializedName.TYPE, n -> n.withName("explicit"));
+						b.metadata(Alias.TYPE, a -> a.add("oldNamed"));
+					}));
+				});
+			});
+		});
+
+		// Not a ConfigImpl, so keys are computed from scratch
+		Config uncached = (Config) Proxy.newProxyInstance(Config.class.getClassLoader(), new Class<?>[] {Config.class}, (proxy, method, args) -> method.invoke(config, args));
+
+		assertKeys(config, uncached, config.nodes());
+		Assertions.assertEquals("custom_section.nested-section.explicit", SerializerUtils.getSerializedKey(config, config.getValue(Arrays.asList("renamedSection", "nestedSection", "namedValue"))).toString());
+	}
+
+	private static void assertKeys(Config cached, Config uncached, Iterable<ValueTreeNode> nodes) {
+		for (ValueTreeNode node : nodes) {
+			ValueKey serializedKey = SerializerUtils.getSerializedKey(uncached, node);
+			List<ValueKey> possibleKeys = SerializerUtils.createPossibleKeys(serializedKey, node);
+
+			Assertions.assertEquals(serializedKey, SerializerUtils.getSerializedKey(cached, node));
+			Assertions.assertEquals(possibleKeys, SerializerUtils.getPossibleKeys(cached, node));
+			Assertions.assertEquals(possibleKeys, SerializerUtils.getPossibleKeys(uncached, node));
+
+			if (node instanceof ValueTreeNode.Section) {
+				assertKeys(cached, uncached, (ValueTreeNode.Section) node);
+			}
+		}
+	}
+
 	private static void test(ConfigEnvironment env) {
 		TestConventionConfig config = ConfigFactory.create(env, "testmod", "testConventionConfig", TestConventionConfig.class);
 		config.word.angryBee.setValue(50);
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.reflective;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.config.TestUtil;
+import org.quiltmc.config.api.Config;
+import org.quiltmc.config.api.serializers.Json5Serializer;
+import org.quiltmc.config.api.values.TrackedValue;
+import org.quiltmc.config.api.values.ValueList;
+import org.quiltmc.config.implementor_api.CallbackDispatcher;
+import org.quiltmc.config.implementor_api.ConfigEnvironment;
+import org.quiltmc.config.implementor_api.ConfigFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TrackedValueConcurrencyTest extends AbstractConfigTest {
+	private static final int THREADS = 4;
+	private static final int ITERATIONS = 20000;
+
+	@Test
+	void testOverridesArePublishedWithTheirValue() throws InterruptedException {
+		TrackedValue<Integer> value = TrackedValue.create(0, "value");
+		ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "concurrentOverrides", builder -> builder.field(value));
+
+		value.setValue(1, false);
+
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> readers = new ArrayList<>();
+
+		for (int i = 0; i < THREADS; i++) {
+			readers.add(start(failure, () -> {
+				while (!done.get()) {
+					// Real values are positive and overrides negative, so a torn state reads as null or zero
+					Integer read = value.value();
+
+					Assertions.assertTrue(read != null, "Observed an override without its value");
+					Assertions.assertTrue(read != 0, "Observed a stale value");
+				}
+			}));
+		}
+
+		for (int i = 1; i <= ITERATIONS; i++) {
+			value.setValue(i, false);
+			value.setOverride(-i);
+			value.removeOverride();
+		}
+
+		done.set(true);
+		join(readers, failure);
+
+		Assertions.assertFalse(value.isBeingOverridden());
+		Assertions.assertEquals(ITERATIONS, value.value());
+	}
+
+	@Test
+	void testConcurrentWritersInvokeEveryCallback() throws InterruptedException {
+		TrackedValue<Integer> value = TrackedValue.create(0, "value");
+		AtomicInteger valueCallbacks = new AtomicInteger();
+		AtomicInteger configCallbacks = new AtomicInteger();
+
+		value.registerCallback(v -> valueCallbacks.incrementAndGet());
+		Config config = ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "concurrentWriters", builder -> builder.field(value));
+		config.registerCallback(c -> configCallbacks.incrementAndGet());
+
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> writers = new ArrayList<>();
+
+		for (int i = 0; i < THREADS; i++) {
+			int offset = i * ITERATIONS;
+
+			writers.add(start(failure, () -> {
+				start.await();
+
+				for (int j = 1; j <= ITERATIONS; j++) {
+					value.setValue(offset + j, false);
+				}
+			}));
+		}
+
+		// A transaction on another thread must only batch its own changes
+		writers.add(start(failure, () -> {
+			start.await();
+
+			for (int j = 0; j < 100; j++) {
+				config.transaction(transaction -> transaction.set(value, -1));
+			}
+		}));
+
+		start.countDown();
+		join(writers, failure);
+
+		int expected = THREADS * ITERATIONS;
+		Assertions.assertTrue(valueCallbacks.get() >= expected, "Missed value callbacks: " + valueCallbacks.get());
+		Assertions.assertTrue(configCallbacks.get() >= expected, "Missed config callbacks: " + configCallbacks.get());
+	}
+
+	@Test
+	void testSnapshotsAreConsistent() throws InterruptedException {
+		TrackedValue<Integer> first = TrackedValue.create(0, "first");
+		TrackedValue<Integer> second = TrackedValue.create(0, "second");
+		Config config = ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "concurrentSnapshots", builder -> {
+			builder.field(first);
+			builder.field(second);
+		});
+
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> readers = new ArrayList<>();
+
+		for (int i = 0; i < THREADS; i++) {
+			readers.add(start(failure, () -> {
+				long version = -1;
+
+				while (!done.get()) {
+					Config.Snapshot snapshot = config.snapshot();
+
+					Assertions.assertEquals(snapshot.get(first), snapshot.get(second), "Observed half of a transaction");
+					Assertions.assertTrue(snapshot.version() >= version, "Snapshot versions went backwards");
+					version = snapshot.version();
+				}
+			}));
+		}
+
+		for (int i = 1; i <= 1000; i++) {
+			int next = i;
+
+			config.transaction(transaction -> transaction.set(first, next).set(second, next));
+		}
+
+		done.set(true);
+		join(readers, failure);
+
+		Assertions.assertEquals(1000, config.snapshot().get(second));
+	}
+
+	@Test
+	void testGetterCreatedDuringChanges() throws Throwable {
+		List<TrackedValue<Integer>> values = new ArrayList<>();
+
+		for (int i = 0; i < 200; i++) {
+			values.add(TrackedValue.create(0, "value" + i));
+		}
+
+		ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "concurrentGetters", builder -> {
+			for (TrackedValue<Integer> value : values) {
+				builder.field(value);
+			}
+		});
+
+		// Each getter is created while its value changes, and must still end up returning the last change
+		for (TrackedValue<Integer> value : values) {
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			List<Thread> writers = Collections.singletonList(start(failure, () -> {
+				for (int i = 1; i <= 100; i++) {
+					value.setValue(i, false);
+				}
+			}));
+
+			MethodHandle getter = value.getter();
+			join(writers, failure);
+
+			Assertions.assertEquals(100, (int) (Integer) getter.invoke());
+		}
+	}
+
+	@Test
+	void testSnapshotsOfModifiedLists() throws InterruptedException {
+		TrackedValue<ValueList<Integer>> list = TrackedValue.create(ValueList.create(0, 0, 1, 2, 3), "list");
+		Config config = ConfigFactory.create(TestUtil.JSON5_ENV, "testmod", "concurrentListSnapshots", builder -> builder.field(list));
+
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> readers = new ArrayList<>();
+
+		for (int i = 0; i < THREADS; i++) {
+			readers.add(start(failure, () -> {
+				while (!done.get()) {
+					// The list always holds consecutive numbers, which a copy taken in the middle of a change would not
+					ValueList<Integer> snapshot = config.snapshot().get(list);
+					Integer previous = null;
+
+					for (Integer element : snapshot) {
+						Assertions.assertTrue(previous == null || element == previous + 1, "Observed a torn list: " + snapshot);
+						previous = element;
+					}
+				}
+			}));
+		}
+
+		// Every edit saves the file, so keep this shorter than the other tests
+		int last = ITERATIONS / 10;
+
+		for (int i = 4; i <= last; i++) {
+			list.value().add(i);
+			list.value().remove(0);
+		}
+
+		done.set(true);
+		join(readers, failure);
+
+		Assertions.assertEquals(last, config.snapshot().get(list).get(3));
+	}
+
+	@Test
+	void testDispatchedCallbacks() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		try {
+			for (boolean coalesce : new boolean[] {false, true}) {
+				ConfigEnvironment env = new ConfigEnvironment(TestUtil.TEMP_DIR, Json5Serializer.INSTANCE);
+				CallbackDispatcher dispatcher = new CallbackDispatcher(executor, coalesce);
+				env.setCallbackDispatcher(dispatcher);
+
+				CountDownLatch release = new CountDownLatch(1);
+				List<Integer> observed = Collections.synchronizedList(new ArrayList<>());
+				TrackedValue<Integer> value = TrackedValue.create(0, "value", creator -> creator.callback(v -> {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new RuntimeException(e);
+					}
+
+					observed.add(v.value());
+				}));
+				ConfigFactory.create(env, "testmod", "dispatchedCallbacks" + coalesce, builder -> builder.field(value));
+
+				// The first delivery blocks the listener, so that the others pile up behind it
+				for (int i = 1; i <= 100; i++) {
+					value.setValue(i, false);
+				}
+
+				Assertions.assertTrue(dispatcher.queueDepth() > 0, "Callbacks were delivered on the changing thread");
+				release.countDown();
+				Assertions.assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS), "Callbacks were never delivered");
+
+				Assertions.assertEquals(0, dispatcher.queueDepth());
+				Assertions.assertEquals(100, observed.get(observed.size() - 1));
+
+				if (coalesce) {
+					Assertions.assertTrue(observed.size() < 100, "Callbacks were not coalesced");
+				} else {
+					Assertions.assertEquals(100, observed.size());
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testDispatchOrder() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		try {
+			for (boolean coalesce : new boolean[] {false, true}) {
+				CallbackDispatcher dispatcher = new CallbackDispatcher(executor, coalesce);
+				CountDownLatch release = new CountDownLatch(1);
+				List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+				Object source = new Object();
+
+				// Each delivery records its own sequence number, which a callback reading the value could not tell apart
+				for (int i = 1; i <= 100; i++) {
+					int sequence = i;
+
+					dispatcher.dispatch(source, () -> {
+						try {
+							release.await();
+						} catch (InterruptedException e) {
+							throw new RuntimeException(e);
+						}
+
+						delivered.add(sequence);
+					}, true);
+				}
+
+				release.countDown();
+				Assertions.assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS), "Callbacks were never delivered");
+				Assertions.assertEquals(100, delivered.get(delivered.size() - 1));
+
+				for (int i = 1; i < delivered.size(); i++) {
+					Assertions.assertTrue(delivered.get(i - 1) < delivered.get(i), "Callbacks were delivered out of order: " + delivered);
+				}
+
+				if (!coalesce) {
+					Assertions.assertEquals(100, delivered.size());
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// A shut down executor rejects deliveries, which are then run right away
+		CallbackDispatcher rejecting = new CallbackDispatcher(executor, false);
+		List<Integer> delivered = new ArrayList<>();
+
+		rejecting.dispatch(this, () -> delivered.add(1), false);
+		rejecting.dispatch(this, () -> delivered.add(2), false);
+
+		Assertions.assertIterableEquals(Arrays.asList(1, 2), delivered);
+		Assertions.assertEquals(0, rejecting.queueDepth());
+		Assertions.assertTrue(rejecting.awaitIdle(0, TimeUnit.SECONDS), "Rejected deliveries are still in flight");
+	}
+
+	private static Thread start(AtomicReference<Throwable> failure, Task task) {
+		Thread thread = new Thread(() -> {
+			try {
+				task.run();
+			} catch (Throwable t) {
+				failure.compareAndSet(null, t);
+			}
+		});
+
+		thread.start();
+
+		return thread;
+	}
+
+	private static void join(List<Thread> threads, AtomicReference<Throwable> failure) throws InterruptedException {
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		if (failure.get() != null) {
+			throw new AssertionError("Worker thread failed", failure.get());
+		}
+	}
+
+	@FunctionalInterface
+	private interface Task {
+		void run() throws Exception;
+	}
+}
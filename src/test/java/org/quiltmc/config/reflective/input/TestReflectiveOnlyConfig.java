@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.config.reflective.input;
+
+import org.quiltmc.config.api.ReflectiveConfig;
+import org.quiltmc.config.api.annotations.Comment;
+import org.quiltmc.config.api.annotations.IntegerRange;
+import org.quiltmc.config.api.values.TrackedValue;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A config the annotation processor can't generate a creator for, so that it is always created reflectively.
+ */
+public final class TestReflectiveOnlyConfig extends ReflectiveConfig {
+	@Comment("Comment one")
+	@Comment("Comment two")
+	public final TrackedValue<Integer> a = this.value(0);
+	@IntegerRange(min = 0, max = 10)
+	public final TrackedValue<Integer> d = this.value(3);
+	@Marker
+	public final TrackedValue<String> marked = this.value("");
+	public final Nested nested1 = new Nested();
+	public final Nested nested2 = new Nested();
+	// Generated code can't read private fields, so the processor skips this class
+	private final TrackedValue<Boolean> hidden = this.value(false);
+
+	public TrackedValue<Boolean> hidden() {
+		return this.hidden;
+	}
+
+	public static final class Nested extends Section {
+		public final TrackedValue<Integer> a = this.value(0);
+	}
+
+	/**
+	 * Has no processor until a test registers one.
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.FIELD)
+	public @interface Marker {
+	}
+}